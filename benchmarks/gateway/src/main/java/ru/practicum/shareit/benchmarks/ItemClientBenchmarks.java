@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.PassThroughBody;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A call through the public {@link ItemClient} API: request headers, the response cache filter and the mapping
+ * of the upstream response, with shareit-server replaced by an in-memory exchange function. A single item is
+ * answered with an ETag, so after the first call it is revalidated and served from the cache on 304; the item
+ * list is not cacheable and goes through on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemClientBenchmarks {
+    private static final String ETAG = "\"item-1\"";
+    private static final String ITEM = "{\"id\":1,\"name\":\"Дрель\",\"description\":\"Ударная дрель\","
+            + "\"available\":true,\"comments\":[],\"commentCount\":0}";
+
+    private ItemClient client;
+
+    @Setup
+    public void setUp() {
+        WebClient.Builder server = WebClient.builder().exchangeFunction(ItemClientBenchmarks::answer);
+        ResponseCache cache = new ResponseCache(new SimpleMeterRegistry(), 10_000, Duration.ofSeconds(5),
+                Duration.ofMillis(300), DataSize.ofKilobytes(256));
+        client = new ItemClient("http://shareit-server", server, cache);
+    }
+
+    @Benchmark
+    public ResponseEntity<PassThroughBody> cachedItem() {
+        return client.getItem(42, 1).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<PassThroughBody> itemList() {
+        return client.getAllItems(42, 0, 20).block();
+    }
+
+    private static Mono<ClientResponse> answer(ClientRequest request) {
+        if (ETAG.equals(request.headers().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, ETAG).build());
+        }
+        String body = request.url().getPath().endsWith("/1") ? ITEM : "[" + ITEM + "]";
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, ETAG)
+                .body(body)
+                .build());
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmarks;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fully initialized entity graphs, shaped like the rows the services map on the hot paths.
+ */
+@UtilityClass
+public class Fixtures {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    public static User user(int id) {
+        return User.builder()
+                .id(id)
+                .name("Пользователь " + id)
+                .email("user" + id + "@shareit.test")
+                .version(0L)
+                .build();
+    }
+
+    public static Item item(int id) {
+        return Item.builder()
+                .id(id)
+                .name("Дрель аккумуляторная " + id)
+                .description("Ударная дрель с двумя аккумуляторами и набором сверл по бетону и дереву")
+                .available(true)
+                .owner(user(id))
+                .request(ItemRequest.builder().id(id).description("Нужна дрель").requester(user(id + 1))
+                        .created(BASE).version(0L).build())
+                .version(0L)
+                .build();
+    }
+
+    public static Booking booking(int id) {
+        return Booking.builder()
+                .id(id)
+                .start(BASE.plusDays(id))
+                .end(BASE.plusDays(id + 2))
+                .item(item(id))
+                .booker(user(id + 1))
+                .status(Status.APPROVED)
+                .version(0L)
+                .build();
+    }
+
+    public static List<Booking> bookings(int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            bookings.add(booking(i));
+        }
+        return bookings;
+    }
+
+    public static List<Comment> comments(int count) {
+        Item item = item(1);
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            comments.add(Comment.builder()
+                    .id(i)
+                    .text("Отличная вещь, пользовался " + i + " дня, вернул без замечаний")
+                    .item(item)
+                    .author(user(i + 1))
+                    .created(BASE.minusDays(i))
+                    .build());
+        }
+        return comments;
+    }
+}
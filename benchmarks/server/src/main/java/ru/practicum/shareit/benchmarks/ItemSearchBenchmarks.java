@@ -0,0 +1,170 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.item.search.PostgresFullTextItemSearchEngine;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of an item search on PostgreSQL, the LIKE query of the {@code like} engine against the full-text
+ * query of the {@code postgres-fts} engine, over catalogs of several sizes. Each catalog lives in a schema of
+ * its own, migrated by Flyway and seeded once, so later runs reuse it. The server is given to the forked JVM,
+ * e.g. {@code -Djmh.args="ItemSearch -jvmArgsAppend -Dbenchmarks.postgres.url=jdbc:postgresql://host/db"}
+ * (with {@code benchmarks.postgres.username} and {@code benchmarks.postgres.password}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmarks {
+    private static final int PAGE_SIZE = 20;
+
+    private static final String LIKE_SQL = "SELECT i.* FROM items i " +
+            "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?, '%')) ESCAPE '\\' " +
+            "   OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?, '%')) ESCAPE '\\') " +
+            "AND i.is_available = TRUE " +
+            "ORDER BY i.id OFFSET 0 ROWS FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+
+    private static final String FULL_TEXT_SQL = "SELECT i.* FROM items i " +
+            "WHERE i.is_available = TRUE " +
+            "AND i.search_vector @@ (to_tsquery('russian', ?) || to_tsquery('simple', ?)) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('russian', ?) || to_tsquery('simple', ?)) DESC, i.id " +
+            "OFFSET 0 ROWS FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+
+    private static final String[] NOUNS = {"Дрель", "Перфоратор", "Шуруповёрт", "Лестница", "Палатка", "Спальник",
+            "Велосипед", "Самокат", "Сноуборд", "Коляска", "Проектор", "Фотоаппарат", "Штатив", "Пылесос", "Мойка",
+            "Газонокосилка", "Бензопила", "Удочка", "Лодка", "Мангал", "Рюкзак", "Чемодан", "Генератор", "Кресло"};
+    private static final String[] ADJECTIVES = {"Новая", "Ударная", "Лёгкая", "Компактная", "Профессиональная",
+            "Детская", "Складная", "Электрическая", "Туристическая", "Надёжная"};
+    private static final String[] BRANDS = {"Bosch", "Makita", "Интерскол", "Зубр", "Stels", "Forward",
+            "Nordway", "Canon", "Nikon", "Karcher"};
+    private static final String[] DETAILS = {"В хорошем состоянии.", "Почти не использовалась.",
+            "Есть небольшие царапины.", "В комплекте чехол и инструкция.", "Забирать у метро.",
+            "Отдам на выходные.", "Аккумулятор держит долго.", "Подходит для дачи.", "Проверено, всё работает.",
+            "Прошу вернуть чистой.", "Можно взять на неделю.", "Есть запасные насадки."};
+
+    @Param({"1000", "10000", "100000"})
+    private int catalogSize;
+
+    /**
+     * A word prefix in every 24th item, an adjective and noun pair in every 240th item and a word in none.
+     */
+    @Param({"дрел", "складная лестница", "отсутствует"})
+    private String query;
+
+    private Connection connection;
+    private PreparedStatement like;
+    private PreparedStatement fullText;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("benchmarks.postgres.url", "jdbc:postgresql://localhost:5432/postgres");
+        String username = System.getProperty("benchmarks.postgres.username", "postgres");
+        String password = System.getProperty("benchmarks.postgres.password", "");
+        String schema = "search_benchmark_" + catalogSize;
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .schemas(schema)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, username, password);
+        connection.setSchema(schema);
+        if (count() != catalogSize) {
+            seed();
+        }
+
+        String escaped = LikeItemSearchEngine.escape(query);
+        like = connection.prepareStatement(LIKE_SQL);
+        like.setString(1, escaped);
+        like.setString(2, escaped);
+        String tsQuery = PostgresFullTextItemSearchEngine.toPrefixQuery(query);
+        fullText = connection.prepareStatement(FULL_TEXT_SQL);
+        for (int i = 1; i <= 4; i++) {
+            fullText.setString(i, tsQuery);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int like() throws SQLException {
+        return rows(like);
+    }
+
+    @Benchmark
+    public int fullText() throws SQLException {
+        return rows(fullText);
+    }
+
+    private static int rows(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long count() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM items")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void seed() throws SQLException {
+        SplittableRandom random = new SplittableRandom(catalogSize);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE items, users RESTART IDENTITY CASCADE");
+            statement.execute("INSERT INTO users (name, email) VALUES ('Владелец', 'owner@benchmark.test')");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO items "
+                + "(name, description, is_available, owner_id) VALUES (?, ?, ?, 1)")) {
+            for (int i = 0; i < catalogSize; i++) {
+                insert.setString(1, ADJECTIVES[i / NOUNS.length % ADJECTIVES.length] + " "
+                        + NOUNS[i % NOUNS.length].toLowerCase() + " " + BRANDS[random.nextInt(BRANDS.length)]);
+                insert.setString(2, DETAILS[random.nextInt(DETAILS.length)] + " "
+                        + DETAILS[random.nextInt(DETAILS.length)]);
+                insert.setBoolean(3, random.nextInt(10) != 0);
+                insert.addBatch();
+                if (i % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE items");
+        }
+    }
+}
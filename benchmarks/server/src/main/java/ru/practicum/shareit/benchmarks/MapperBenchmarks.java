@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.dto.CommentOutputDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemOutputDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmarks {
+
+    private final ItemMapper itemMapper = new ItemMapper();
+    private Booking booking;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        booking = Fixtures.booking(1);
+        item = Fixtures.item(1);
+    }
+
+    @Benchmark
+    public BookingOutputDto bookingToOutputDto() {
+        return BookingMapper.toBookingOutDto(booking);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return itemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemOutputDto itemToOutputDto() {
+        return ItemMapper.toItemOutputDto(item);
+    }
+
+    @Benchmark
+    public List<CommentOutputDto> commentsToOutputDtoList(Comments comments) {
+        return CommentMapper.toCommentOutDtoList(comments.list);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Comments {
+        @Param({"1", "20"})
+        private int size;
+
+        private List<Comment> list;
+
+        @Setup
+        public void setUp() {
+            list = Fixtures.comments(size);
+        }
+    }
+}
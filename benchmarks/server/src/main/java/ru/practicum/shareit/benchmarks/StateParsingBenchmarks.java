@@ -0,0 +1,40 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.exception.UnknownValueException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the booking list state parameter on the server. Unknown values are measured separately, the server
+ * answers them with an exception. The gateway side is in the gateway benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StateParsingBenchmarks {
+
+    @Param({"ALL", "rejected", "UNSUPPORTED_STATUS"})
+    private String state;
+
+    @Benchmark
+    public Object serverState() {
+        try {
+            return ru.practicum.shareit.booking.model.State.getEnumValue(state);
+        } catch (UnknownValueException e) {
+            return e;
+        }
+    }
+}
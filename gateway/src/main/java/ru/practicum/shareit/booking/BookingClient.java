@@ -2,16 +2,17 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.PassThroughBody;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Service
@@ -21,34 +22,43 @@ public class BookingClient extends BaseClient {
 
     @Autowired
     public BookingClient(@Value("${shareit-server.url}") String serverUrl,
-                         RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+                         WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
     }
 
-    public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<PassThroughBody>> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookings(Long userId, String state) {
-        return get("?state=" + state, userId);
+    public Mono<ResponseEntity<PassThroughBody>> getBookings(Long userId, String state, Integer limit, String cursor) {
+        Map<String, Object> params = pageParameters(state, limit, cursor);
+        return get("?" + toQuery(params), userId, params);
     }
 
-    public ResponseEntity<Object> createBooking(long userId, CreateBookingDto requestDto) {
+    public Mono<ResponseEntity<PassThroughBody>> createBooking(long userId, CreateBookingDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> processBooking(Long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<PassThroughBody>> processBooking(Long userId, Long bookingId, Boolean approved) {
         Map<String, Object> params = new HashMap<>();
         params.put("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, params, null);
     }
 
-    public ResponseEntity<Object> findByOwner(long ownerId, BookingState state) {
-        return get("/owner?state=" + state.name(), ownerId);
+    public Mono<ResponseEntity<PassThroughBody>> findByOwner(long ownerId, BookingState state, Integer limit, String cursor) {
+        Map<String, Object> params = pageParameters(state.name(), limit, cursor);
+        return get("/owner?" + toQuery(params), ownerId, params);
+    }
+
+    private static Map<String, Object> pageParameters(String state, Integer limit, String cursor) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("state", state);
+        if (limit != null) {
+            params.put("limit", limit);
+        }
+        if (cursor != null) {
+            params.put("cursor", cursor);
+        }
+        return params;
     }
 }
\ No newline at end of file
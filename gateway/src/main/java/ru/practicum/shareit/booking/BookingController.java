@@ -1,13 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.client.PassThroughBody;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -19,22 +22,24 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader(HEADER_USER_PARAMETER) long userId,
-                                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam) {
+    public Mono<ResponseEntity<PassThroughBody>> getBookings(@RequestHeader(HEADER_USER_PARAMETER) long userId,
+                                                             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                             @Positive @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getBookings(userId, stateParam);
+        return bookingClient.getBookings(userId, stateParam, limit, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(
+    public Mono<ResponseEntity<PassThroughBody>> createBooking(
             @RequestHeader(HEADER_USER_PARAMETER) long userId,
             @RequestBody @Valid CreateBookingDto requestDto) {
         return bookingClient.createBooking(userId, requestDto);
     }
 
     @PatchMapping("/{bookingId}")
-    ResponseEntity<Object> processBooking(
+    Mono<ResponseEntity<PassThroughBody>> processBooking(
             @RequestHeader(HEADER_USER_PARAMETER) Long userId,
             @PathVariable Long bookingId,
             @RequestParam Boolean approved) {
@@ -42,16 +47,18 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(
+    public Mono<ResponseEntity<PassThroughBody>> getBooking(
             @RequestHeader(HEADER_USER_PARAMETER) long userId,
             @PathVariable Long bookingId) {
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @GetMapping("/owner")
-    ResponseEntity<Object> findByOwner(
+    Mono<ResponseEntity<PassThroughBody>> findByOwner(
             @RequestHeader(HEADER_USER_PARAMETER) Long ownerId,
-            @RequestParam(defaultValue = "ALL") BookingState state) {
-        return bookingClient.findByOwner(ownerId, state);
+            @RequestParam(defaultValue = "ALL") BookingState state,
+            @Positive @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        return bookingClient.findByOwner(ownerId, state, limit, cursor);
     }
 }
\ No newline at end of file
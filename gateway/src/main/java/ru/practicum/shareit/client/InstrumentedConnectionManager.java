@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.nio.AsyncConnectionEndpoint;
+import org.apache.hc.client5.http.ssl.DefaultClientTlsStrategy;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.Future;
+
+/**
+ * Connection pool shared by all shareit-server clients. Besides the pool state exported by the
+ * Micrometer binder, records how long requests wait to lease a connection.
+ */
+public class InstrumentedConnectionManager extends PoolingAsyncClientConnectionManager {
+    private final Timer leaseTimer;
+
+    public InstrumentedConnectionManager(TimeValue timeToLive, MeterRegistry meterRegistry, String poolName) {
+        super(RegistryBuilder.<TlsStrategy>create()
+                        .register(URIScheme.HTTPS.id, DefaultClientTlsStrategy.getDefault())
+                        .build(),
+                PoolConcurrencyPolicy.STRICT, PoolReusePolicy.LIFO, timeToLive);
+        this.leaseTimer = Timer.builder("httpcomponents.httpclient.pool.wait")
+                .description("Time spent waiting for a pooled connection")
+                .tag("httpclient", poolName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Future<AsyncConnectionEndpoint> lease(String id, HttpRoute route, Object state, Timeout requestTimeout,
+                                                 FutureCallback<AsyncConnectionEndpoint> callback) {
+        Timer.Sample sample = Timer.start();
+        return super.lease(id, route, state, requestTimeout, new FutureCallback<>() {
+            @Override
+            public void completed(AsyncConnectionEndpoint endpoint) {
+                sample.stop(leaseTimer);
+                if (callback != null) {
+                    callback.completed(endpoint);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                sample.stop(leaseTimer);
+                if (callback != null) {
+                    callback.failed(e);
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                if (callback != null) {
+                    callback.cancelled();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+
+/**
+ * Body of a shareit-server response relayed to the gateway client as is: buffers are written to the
+ * servlet response as they arrive from the upstream connection, without being parsed into objects.
+ * Writes block, so they run on the bounded elastic scheduler rather than on the upstream I/O thread, and
+ * the next buffer is requested only after the previous one is written. The upstream exchange is cancelled
+ * when the client goes away or the async request times out.
+ */
+public class PassThroughBody extends ResponseBodyEmitter {
+
+    private PassThroughBody() {
+    }
+
+    static PassThroughBody of(Flux<DataBuffer> upstream, @Nullable MediaType contentType) {
+        PassThroughBody body = new PassThroughBody();
+        Relay relay = body.new Relay(contentType);
+        body.onCompletion(relay::dispose);
+        body.onTimeout(relay::dispose);
+        body.onError(e -> relay.dispose());
+        upstream.publishOn(Schedulers.boundedElastic(), 1)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .subscribe(relay);
+        return body;
+    }
+
+    private final class Relay extends BaseSubscriber<DataBuffer> {
+        @Nullable
+        private final MediaType contentType;
+
+        private Relay(@Nullable MediaType contentType) {
+            this.contentType = contentType;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(1);
+        }
+
+        @Override
+        protected void hookOnNext(DataBuffer buffer) {
+            try {
+                byte[] chunk = new byte[buffer.readableByteCount()];
+                buffer.read(chunk);
+                send(chunk, contentType);
+            } catch (IOException e) {
+                // the client is gone, the container reports it through onError
+                dispose();
+                return;
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            request(1);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            complete();
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            completeWithError(throwable);
+        }
+    }
+}
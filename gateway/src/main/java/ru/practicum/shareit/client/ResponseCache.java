@@ -0,0 +1,180 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.HeaderConstants;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded LRU cache of single-resource reads keyed by URL and X-Sharer-User-Id. Every hit is revalidated
+ * with If-None-Match, so the server only answers 304 when nothing changed. 404 answers are reused for a
+ * short time without revalidation. When revalidation is slow the cached response is served while the
+ * revalidation finishes in the background, and when it fails the cached response is served as well. Bodies
+ * larger than the per-entry limit are not cached. Writes through the gateway evict the resource for all users.
+ */
+@Slf4j
+@Component
+public class ResponseCache implements ExchangeFilterFunction {
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("/(items|users|requests)/\\d+$");
+
+    private final Map<String, CachedResponse> responses;
+    private final Duration negativeTtl;
+    private final Duration staleAfter;
+    private final long maxEntryBytes;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter negativeHits;
+    private final Counter staleHits;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${shareit-server.cache.max-entries:10000}") int capacity,
+                         @Value("${shareit-server.cache.negative-ttl:5s}") Duration negativeTtl,
+                         @Value("${shareit-server.cache.stale-after:300ms}") Duration staleAfter,
+                         @Value("${shareit-server.cache.max-entry-size:256KB}") DataSize maxEntrySize) {
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return super.size() > capacity;
+            }
+        };
+        this.negativeTtl = negativeTtl;
+        this.staleAfter = staleAfter;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.negativeHits = counter(meterRegistry, "negative");
+        this.staleHits = counter(meterRegistry, "stale");
+        Gauge.builder("shareit.gateway.cache.size", this, ResponseCache::size).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!CACHEABLE_PATH.matcher(request.url().getPath()).find()) {
+            return next.exchange(request);
+        }
+        if (!HttpMethod.GET.equals(request.method())) {
+            evict(request.url() + "#");
+            return next.exchange(request);
+        }
+        String key = request.url() + "#" + request.headers().getFirst(HeaderConstants.SHARER_ID_HEADER);
+        CachedResponse cached = get(key);
+
+        if (cached != null && cached.status().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            if (cached.isYoungerThan(negativeTtl)) {
+                negativeHits.increment();
+                return Mono.just(cached.toClientResponse());
+            }
+            cached = null;
+        }
+        if (cached == null || cached.etag() == null) {
+            misses.increment();
+            return next.exchange(request)
+                    .flatMap(response -> store(key, null, response))
+                    .map(CachedResponse::toClientResponse);
+        }
+
+        CachedResponse stale = cached;
+        ClientRequest conditional = ClientRequest.from(request)
+                .header(HttpHeaders.IF_NONE_MATCH, cached.etag())
+                .build();
+        Mono<CachedResponse> revalidation = next.exchange(conditional)
+                .flatMap(response -> store(key, stale, response))
+                .cache();
+        revalidation.subscribe(response -> {
+        }, e -> log.warn("Не удалось обновить кэш для {}: {}", key, e.getMessage()));
+
+        return revalidation
+                .timeout(staleAfter, Mono.fromSupplier(() -> {
+                    staleHits.increment();
+                    return stale;
+                }))
+                .onErrorResume(e -> {
+                    staleHits.increment();
+                    return Mono.just(stale);
+                })
+                .map(CachedResponse::toClientResponse);
+    }
+
+    public synchronized int size() {
+        return responses.size();
+    }
+
+    private Mono<CachedResponse> store(String key, CachedResponse cached, ClientResponse response) {
+        if (cached != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            hits.increment();
+            return response.releaseBody().thenReturn(cached);
+        }
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> {
+                    CachedResponse fresh = new CachedResponse(response.statusCode(),
+                            response.headers().asHttpHeaders(), body, System.nanoTime());
+                    boolean cacheable = fresh.status().isSameCodeAs(HttpStatus.NOT_FOUND)
+                            || (fresh.status().is2xxSuccessful() && fresh.etag() != null);
+                    if (cacheable && body.length <= maxEntryBytes) {
+                        put(key, fresh);
+                    } else {
+                        remove(key);
+                    }
+                    return fresh;
+                });
+    }
+
+    private synchronized CachedResponse get(String key) {
+        return responses.get(key);
+    }
+
+    private synchronized void put(String key, CachedResponse response) {
+        responses.put(key, response);
+    }
+
+    private synchronized void remove(String key) {
+        responses.remove(key);
+    }
+
+    private synchronized void evict(String keyPrefix) {
+        responses.keySet().removeIf(key -> key.startsWith(keyPrefix));
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("shareit.gateway.cache").tag("result", result).register(meterRegistry);
+    }
+
+    private record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long storedAt) {
+
+        String etag() {
+            return headers.getETag();
+        }
+
+        boolean isYoungerThan(Duration ttl) {
+            return System.nanoTime() - storedAt < ttl.toNanos();
+        }
+
+        ClientResponse toClientResponse() {
+            return ClientResponse.create(status)
+                    .headers(target -> target.addAll(headers))
+                    .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body))))
+                    .build();
+        }
+    }
+}
@@ -2,52 +2,94 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.DateTimeConstants;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.PassThroughBody;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final DateTimeFormatter DATE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern(DateTimeConstants.DATE_TIME_FORMAT);
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ResponseCache responseCache) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).filter(responseCache).build());
     }
 
-    public ResponseEntity<Object> addItem(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<PassThroughBody>> addItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<PassThroughBody>> updateItem(long userId, long itemId, ItemDto itemDto, String ifMatch) {
+        return patchIfMatch("/" + itemId, userId, ifMatch, itemDto);
     }
 
-    public ResponseEntity<Object> getItem(long userId, long itemId) {
+    public Mono<ResponseEntity<PassThroughBody>> getItem(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllItems(long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<PassThroughBody>> getAllItems(long userId, Integer from, Integer size) {
+        if (size == null) {
+            return get("?from={from}", userId, Map.of("from", from));
+        }
+        return get("?from={from}&size={size}", userId, Map.of("from", from, "size", size));
     }
 
-    public ResponseEntity<Object> searchItems(long userId, String text) {
-        return get("/search?text={text}", userId, Map.of("text", text));
+    public Mono<ResponseEntity<PassThroughBody>> searchItems(long userId, String text, Integer from, Integer size) {
+        if (size == null) {
+            return get("/search?text={text}&from={from}", userId, Map.of("text", text, "from", from));
+        }
+        return get("/search?text={text}&from={from}&size={size}", userId,
+                Map.of("text", text, "from", from, "size", size));
     }
 
-    public ResponseEntity<Object> createComment(long userId, long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<PassThroughBody>> streamSearchItems(long userId, String text) {
+        return get("/search/stream?text={text}", userId, Map.of("text", text));
+    }
+
+    public Mono<ResponseEntity<PassThroughBody>> searchAvailableItems(long userId, String text, LocalDateTime from,
+                                                                      LocalDateTime to, Integer offset, Integer size) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from.format(DATE_TIME_FORMATTER));
+        parameters.put("to", to.format(DATE_TIME_FORMATTER));
+        parameters.put("offset", offset);
+        if (size == null) {
+            return get("/available?text={text}&from={from}&to={to}&offset={offset}", userId, parameters);
+        }
+        parameters.put("size", size);
+        return get("/available?text={text}&from={from}&to={to}&offset={offset}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<PassThroughBody>> createComment(long userId, long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
+
+    public Mono<ResponseEntity<PassThroughBody>> getComments(long userId, long itemId, Integer limit, String cursor) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (limit != null) {
+            parameters.put("limit", limit);
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        if (parameters.isEmpty()) {
+            return get("/" + itemId + "/comments", userId);
+        }
+        return get("/" + itemId + "/comments?" + toQuery(parameters), userId, parameters);
+    }
 }
\ No newline at end of file
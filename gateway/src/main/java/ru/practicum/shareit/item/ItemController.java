@@ -2,15 +2,24 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.DateTimeConstants;
 import ru.practicum.shareit.HeaderConstants;
+import ru.practicum.shareit.client.PassThroughBody;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -20,39 +29,71 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
-                                             @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<PassThroughBody>> createItem(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
+                                                            @Valid @RequestBody ItemDto itemDto) {
         return itemClient.addItem(userId, itemDto);
     }
 
     @PatchMapping("/{item-id}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Long userId,
-                                             @PathVariable("item-id") Long itemId,
-                                             @RequestBody ItemDto itemUpdateDtoDto) {
-        return itemClient.updateItem(userId, itemId, itemUpdateDtoDto);
+    public Mono<ResponseEntity<PassThroughBody>> updateItem(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Long userId,
+                                                            @PathVariable("item-id") Long itemId,
+                                                            @RequestBody ItemDto itemUpdateDtoDto,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return itemClient.updateItem(userId, itemId, itemUpdateDtoDto, ifMatch);
     }
 
     @GetMapping("/{item-id}")
-    public ResponseEntity<Object> getItem(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
-                                          @PathVariable("item-id") long itemId) {
+    public Mono<ResponseEntity<PassThroughBody>> getItem(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
+                                                         @PathVariable("item-id") long itemId) {
         return itemClient.getItem(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItems(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId) {
-        return itemClient.getAllItems(userId);
+    public Mono<ResponseEntity<PassThroughBody>> getAllItems(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
+                                                             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                             @Positive @RequestParam(required = false) Integer size) {
+        return itemClient.getAllItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
-                                              @NotNull @RequestParam String text) {
-        return itemClient.searchItems(userId, text);
+    public Mono<ResponseEntity<PassThroughBody>> searchItems(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
+                                                             @NotNull @RequestParam String text,
+                                                             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
+                                                             @Positive @RequestParam(required = false) Integer size) {
+        return itemClient.searchItems(userId, text, from, size);
+    }
+
+    @GetMapping("/search/stream")
+    public Mono<ResponseEntity<PassThroughBody>> streamSearchItems(
+            @RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
+            @NotNull @RequestParam String text) {
+        return itemClient.streamSearchItems(userId, text);
+    }
+
+    @GetMapping("/available")
+    public Mono<ResponseEntity<PassThroughBody>> searchAvailableItems(
+            @RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
+            @RequestParam(defaultValue = "") String text,
+            @NotNull @RequestParam @DateTimeFormat(pattern = DateTimeConstants.DATE_TIME_FORMAT) LocalDateTime from,
+            @NotNull @RequestParam @DateTimeFormat(pattern = DateTimeConstants.DATE_TIME_FORMAT) LocalDateTime to,
+            @PositiveOrZero @RequestParam(defaultValue = "0") Integer offset,
+            @Positive @RequestParam(required = false) Integer size) {
+        log.info("Поиск доступных предметов: text={}, from={}, to={}, offset={}, size={}", text, from, to, offset, size);
+        return itemClient.searchAvailableItems(userId, text, from, to, offset, size);
     }
 
     @PostMapping("/{item-id}/comment")
-    public ResponseEntity<Object> createCommit(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Long userId,
-                                               @PathVariable("item-id") Long itemId,
-                                               @Valid @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<PassThroughBody>> createCommit(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Long userId,
+                                                              @PathVariable("item-id") Long itemId,
+                                                              @Valid @RequestBody CommentDto commentDto) {
         return itemClient.createComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/{item-id}/comments")
+    public Mono<ResponseEntity<PassThroughBody>> getComments(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Long userId,
+                                                             @PathVariable("item-id") Long itemId,
+                                                             @Positive @RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) String cursor) {
+        return itemClient.getComments(userId, itemId, limit, cursor);
+    }
 }
\ No newline at end of file
@@ -3,45 +3,55 @@ package ru.practicum.shareit.request;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.PassThroughBody;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Slf4j
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                             ResponseCache responseCache) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).filter(responseCache).build());
     }
 
-    public ResponseEntity<Object> addRequest(long userId, ItemRequestDto item) {
+    public Mono<ResponseEntity<PassThroughBody>> addRequest(long userId, ItemRequestDto item) {
         log.info("Отправка запроса в Service: userId={}, item={}", userId, item);
-        ResponseEntity<Object> response = post("", userId, item);
+        Mono<ResponseEntity<PassThroughBody>> response = post("", userId, item);
         log.info("Ответ от сервера в Service: {}", response);
         return response;
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId) {
+    public Mono<ResponseEntity<PassThroughBody>> getAllRequests(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllByUser(long userId) {
-        return get("/all", userId);
+    public Mono<ResponseEntity<PassThroughBody>> getAllByUser(long userId, Integer limit, String cursor) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (limit != null) {
+            parameters.put("limit", limit);
+        }
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        if (parameters.isEmpty()) {
+            return get("/all", userId);
+        }
+        return get("/all?" + toQuery(parameters), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(long userId, long requestId) {
+    public Mono<ResponseEntity<PassThroughBody>> getItemRequest(long userId, long requestId) {
         return get("/" + requestId, userId);
     }
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.HeaderConstants;
+import ru.practicum.shareit.client.PassThroughBody;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 @RestController
@@ -18,27 +21,28 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
-                                                    @RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId) {
+    public Mono<ResponseEntity<PassThroughBody>> createItemRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
+                                                                   @RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId) {
         log.info("Создание запроса в Controller Gateway: userId={}, requestDto={}", userId, itemRequestDto);
-        ResponseEntity<Object> response = itemRequestClient.addRequest(userId, itemRequestDto);
-        log.info("Ответ от клиента в Controller Gateway: {}", response);
-        return response;
+        return itemRequestClient.addRequest(userId, itemRequestDto)
+                .doOnNext(response -> log.info("Ответ от клиента в Controller Gateway: {}", response.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId) {
+    public Mono<ResponseEntity<PassThroughBody>> getAll(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId) {
         return itemRequestClient.getAllRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllFromUser(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId) {
-        return itemRequestClient.getAllByUser(userId);
+    public Mono<ResponseEntity<PassThroughBody>> getAllFromUser(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
+                                                                @Positive @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) String cursor) {
+        return itemRequestClient.getAllByUser(userId, limit, cursor);
     }
 
     @GetMapping("/{request-id}")
-    public ResponseEntity<Object> getItemRequest(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
-                                                 @PathVariable("request-id") long requestId) {
+    public Mono<ResponseEntity<PassThroughBody>> getItemRequest(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) long userId,
+                                                                @PathVariable("request-id") long requestId) {
         return itemRequestClient.getItemRequest(userId, requestId);
     }
 }
\ No newline at end of file
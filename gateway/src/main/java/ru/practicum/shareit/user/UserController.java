@@ -4,10 +4,13 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.PassThroughBody;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Slf4j
@@ -20,33 +23,34 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> addUser(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<PassThroughBody>> addUser(@Valid @RequestBody UserDto userDto) {
         log.info("Запрос на создание пользователя с id: {} ", userDto.getId());
         return userClient.addUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(
+    public Mono<ResponseEntity<PassThroughBody>> updateUser(
             @RequestBody UserDto userDto,
-            @Positive @PathVariable Long userId) {
+            @Positive @PathVariable Long userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Запрос на обновление пользователя: {} ", userId);
-        return userClient.updateUser(userId, userDto);
+        return userClient.updateUser(userId, userDto, ifMatch);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@Positive @PathVariable Long userId) {
+    public Mono<ResponseEntity<PassThroughBody>> deleteUser(@Positive @PathVariable Long userId) {
         log.info("Запрос на удаление пользователя с id: {}", userId);
         return userClient.deleteUser(userId);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@Positive @PathVariable Long userId) {
+    public Mono<ResponseEntity<PassThroughBody>> getUser(@Positive @PathVariable Long userId) {
         log.info("Запрос на пользователя по id: {} ", userId);
         return userClient.getUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<PassThroughBody>> getAllUsers() {
         log.info("Запрос на всех пользователей");
         return userClient.getAllUsers();
     }
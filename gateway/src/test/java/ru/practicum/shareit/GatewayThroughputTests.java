@@ -0,0 +1,108 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gateway with four Tomcat threads in front of a server that answers after {@link #UPSTREAM_DELAY}. A gateway
+ * that held a thread for the whole upstream call would need {@code REQUESTS / TOMCAT_THREADS} delays to answer
+ * all requests; the non-blocking client answers them in about one.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=" + GatewayThroughputTests.TOMCAT_THREADS,
+        "server.tomcat.threads.min-spare=" + GatewayThroughputTests.TOMCAT_THREADS,
+        "spring.threads.virtual.enabled=false"})
+class GatewayThroughputTests {
+    static final int TOMCAT_THREADS = 4;
+    private static final int REQUESTS = 40;
+    private static final Duration UPSTREAM_DELAY = Duration.ofMillis(500);
+
+    private static final ExecutorService UPSTREAM_THREADS = Executors.newCachedThreadPool();
+    private static final HttpServer UPSTREAM = startUpstream();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstream(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + UPSTREAM.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        UPSTREAM.stop(0);
+        UPSTREAM_THREADS.shutdownNow();
+    }
+
+    @Test
+    void upstreamLatencyDoesNotHoldTomcatThreadsTesting() {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users")).build();
+        send(client, request, TOMCAT_THREADS);
+
+        long started = System.nanoTime();
+        send(client, request, REQUESTS);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        Duration threadBound = UPSTREAM_DELAY.multipliedBy(REQUESTS / TOMCAT_THREADS);
+        assertTrue(elapsed.compareTo(threadBound.dividedBy(2)) < 0,
+                REQUESTS + " запросов обработаны за " + elapsed.toMillis() + " мс, при блокирующем клиенте "
+                        + threadBound.toMillis() + " мс");
+    }
+
+    private static void send(HttpClient client, HttpRequest request, int count) {
+        List<CompletableFuture<HttpResponse<String>>> responses = IntStream.range(0, count)
+                .mapToObj(i -> client.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .toList();
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertTrue(response.join().statusCode() == 200, response.join().body());
+        }
+    }
+
+    private static HttpServer startUpstream() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+            server.createContext("/users", exchange -> {
+                try {
+                    Thread.sleep(UPSTREAM_DELAY.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.setExecutor(UPSTREAM_THREADS);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
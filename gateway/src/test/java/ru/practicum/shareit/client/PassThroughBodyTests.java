@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class PassThroughBodyTests {
+    private final List<Long> requested = new CopyOnWriteArrayList<>();
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    private final Sinks.Many<DataBuffer> pending = Sinks.many().unicast().onBackpressureBuffer();
+
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new RelayController()).build();
+
+    @Test
+    void relaysBuffersOneAtATimeTesting() throws Exception {
+        MvcResult result = mvc.perform(get("/relay"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[{\"id\":1},{\"id\":2},{\"id\":3}]"));
+        assertTrue(requested.stream().allMatch(n -> n == 1), "Запрошено сразу больше одного буфера: " + requested);
+    }
+
+    @Test
+    void timeoutCancelsUpstreamTesting() throws Exception {
+        MvcResult result = mvc.perform(get("/pending"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS), "Запрос к серверу не отменен");
+    }
+
+    @RestController
+    private class RelayController {
+
+        @GetMapping("/relay")
+        PassThroughBody relay() {
+            Flux<DataBuffer> upstream = Flux.just("[{\"id\":1},", "{\"id\":2},", "{\"id\":3}]")
+                    .<DataBuffer>map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8)))
+                    .doOnRequest(requested::add);
+            return PassThroughBody.of(upstream, MediaType.APPLICATION_JSON);
+        }
+
+        @GetMapping("/pending")
+        PassThroughBody pending() {
+            return PassThroughBody.of(pending.asFlux().doOnCancel(cancelled::countDown), MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.HeaderConstants;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheTests {
+    private static final ClientRequest GET_ITEM = ClientRequest
+            .create(HttpMethod.GET, URI.create("http://server/items/1"))
+            .header(HeaderConstants.SHARER_ID_HEADER, "1")
+            .build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    @Test
+    void failedRevalidationServesCachedResponseTesting() {
+        ResponseCache cache = cache(DataSize.ofKilobytes(256));
+        ExchangeFunction server = exchange(Mono.just(item("Дрель")), Mono.error(new IOException("Connection reset")));
+
+        assertEquals("Дрель", body(cache.filter(GET_ITEM, server)));
+        assertEquals("Дрель", body(cache.filter(GET_ITEM, server)));
+
+        assertEquals("\"v1\"", requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1.0, meterRegistry.get("shareit.gateway.cache").tag("result", "stale").counter().count());
+    }
+
+    @Test
+    void bodyLargerThanEntryLimitIsNotCachedTesting() {
+        ResponseCache cache = cache(DataSize.ofBytes(4));
+        ExchangeFunction server = exchange(Mono.just(item("Перфоратор")), Mono.just(item("Перфоратор")));
+
+        assertEquals("Перфоратор", body(cache.filter(GET_ITEM, server)));
+        assertEquals("Перфоратор", body(cache.filter(GET_ITEM, server)));
+
+        assertEquals(0, cache.size());
+        assertNull(requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    private ResponseCache cache(DataSize maxEntrySize) {
+        return new ResponseCache(meterRegistry, 100, Duration.ofSeconds(5), Duration.ofSeconds(5), maxEntrySize);
+    }
+
+    @SafeVarargs
+    private ExchangeFunction exchange(Mono<ClientResponse>... responses) {
+        return request -> {
+            requests.add(request);
+            return responses[requests.size() - 1];
+        };
+    }
+
+    private static ClientResponse item(String name) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.ETAG, "\"v1\"")
+                .body(name)
+                .build();
+    }
+
+    private static String body(Mono<ClientResponse> response) {
+        return response.flatMap(clientResponse -> clientResponse.bodyToMono(String.class)).block();
+    }
+}
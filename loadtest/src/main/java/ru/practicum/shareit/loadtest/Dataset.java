@@ -0,0 +1,66 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids created by {@link DatasetSeeder}. Booking windows are handed out from one global sequence, so
+ * bookings made during the run never overlap and are not refused as conflicts.
+ */
+public class Dataset {
+    static final String[] NOUNS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "самокат",
+            "шуруповерт", "пила", "фотоаппарат", "проектор", "байдарка", "спальник", "генератор", "мангал"};
+    static final String[] ADJECTIVES = {"аккумуляторная", "складная", "туристическая", "профессиональная",
+            "детская", "компактная", "мощная", "новая"};
+
+    private final List<Long> users;
+    private final List<Long> owners;
+    private final List<Long> items;
+    private final Map<Long, Long> ownerByItem;
+    private final LocalDateTime firstBookingStart;
+    private final AtomicLong bookingWindows = new AtomicLong();
+
+    public Dataset(List<Long> users, List<Long> owners, List<Long> items, Map<Long, Long> ownerByItem) {
+        this.users = users;
+        this.owners = owners;
+        this.items = items;
+        this.ownerByItem = ownerByItem;
+        this.firstBookingStart = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    public long anyUser(Random random) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    public long anyOwner(Random random) {
+        return owners.get(random.nextInt(owners.size()));
+    }
+
+    public long anyItem(Random random) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    public long ownerOf(long itemId) {
+        return ownerByItem.get(itemId);
+    }
+
+    public long bookerFor(long itemId, Random random) {
+        long owner = ownerOf(itemId);
+        long booker = anyUser(random);
+        while (booker == owner) {
+            booker = anyUser(random);
+        }
+        return booker;
+    }
+
+    public LocalDateTime nextBookingStart() {
+        return firstBookingStart.plusHours(3 * bookingWindows.getAndIncrement());
+    }
+
+    public static String searchWord(Random random) {
+        return NOUNS[random.nextInt(NOUNS.length)];
+    }
+}
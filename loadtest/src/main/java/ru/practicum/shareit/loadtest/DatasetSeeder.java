@@ -0,0 +1,87 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates users, items, requests and approved bookings through the gateway, the same way real clients do.
+ */
+public class DatasetSeeder {
+    static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final ShareItApi api;
+    private final LoadTestConfig config;
+    private final Random random;
+
+    public DatasetSeeder(ShareItApi api, LoadTestConfig config) {
+        this.api = api;
+        this.config = config;
+        this.random = new Random(config.seed());
+    }
+
+    public Dataset seed() throws IOException, InterruptedException {
+        List<Long> users = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            users.add(create("/users", null, Map.of("name", "Пользователь " + i, "email", "user" + i + "@load.test")));
+        }
+        List<Long> owners = users.subList(0, Math.min(config.owners(), users.size()));
+
+        List<Long> items = new ArrayList<>();
+        Map<Long, Long> ownerByItem = new HashMap<>();
+        for (Long owner : owners) {
+            for (int i = 0; i < config.itemsPerOwner(); i++) {
+                String noun = Dataset.NOUNS[random.nextInt(Dataset.NOUNS.length)];
+                String adjective = Dataset.ADJECTIVES[random.nextInt(Dataset.ADJECTIVES.length)];
+                long itemId = create("/items", owner, Map.of(
+                        "name", adjective + " " + noun,
+                        "description", "Сдаю " + noun + " в аренду, состояние отличное, " + adjective,
+                        "available", true));
+                items.add(itemId);
+                ownerByItem.put(itemId, owner);
+            }
+        }
+
+        for (int i = 0; i < config.requests(); i++) {
+            create("/requests", users.get(random.nextInt(users.size())),
+                    Map.of("description", "Ищу " + Dataset.NOUNS[random.nextInt(Dataset.NOUNS.length)] + " на выходные"));
+        }
+
+        Dataset dataset = new Dataset(users, owners, items, ownerByItem);
+        for (Long itemId : items) {
+            for (int i = 0; i < config.bookingsPerItem(); i++) {
+                long bookingId = create("/bookings", dataset.bookerFor(itemId, random), bookingBody(itemId, dataset));
+                ShareItApi.Response approval = api.send("PATCH", "/bookings/" + bookingId + "?approved=true",
+                        dataset.ownerOf(itemId), null);
+                check(approval, "/bookings/" + bookingId);
+            }
+        }
+        return dataset;
+    }
+
+    static Map<String, Object> bookingBody(long itemId, Dataset dataset) {
+        LocalDateTime start = dataset.nextBookingStart();
+        return Map.of(
+                "itemId", itemId,
+                "start", DATE_TIME.format(start),
+                "end", DATE_TIME.format(start.plusHours(2)));
+    }
+
+    private long create(String path, Long userId, Object body) throws IOException, InterruptedException {
+        ShareItApi.Response response = api.send("POST", path, userId, body);
+        check(response, path);
+        return response.json().get("id").asLong();
+    }
+
+    private static void check(ShareItApi.Response response, String path) {
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException("Не удалось заполнить данные: " + path + " ответил " + response.status()
+                    + " " + new String(response.body()));
+        }
+    }
+}
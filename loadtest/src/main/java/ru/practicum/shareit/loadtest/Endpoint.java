@@ -0,0 +1,20 @@
+package ru.practicum.shareit.loadtest;
+
+public enum Endpoint {
+    ITEM_SEARCH("GET /items/search"),
+    ITEM_DETAIL("GET /items/{id}"),
+    OWNER_BOOKINGS("GET /bookings/owner"),
+    BOOKING_CREATE("POST /bookings"),
+    BOOKING_APPROVE("PATCH /bookings/{id}"),
+    REQUEST_FEED("GET /requests/all");
+
+    private final String title;
+
+    Endpoint(String title) {
+        this.title = title;
+    }
+
+    public String title() {
+        return title;
+    }
+}
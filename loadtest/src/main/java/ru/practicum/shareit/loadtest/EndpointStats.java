@@ -0,0 +1,56 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies per endpoint in microseconds, from 1µs to 1 minute with three significant digits. Responses with
+ * an error status are recorded as well and additionally counted as errors; failed exchanges are only counted.
+ */
+public class EndpointStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    public EndpointStats() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(1, MAX_LATENCY_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public void record(Endpoint endpoint, long latencyNanos, boolean successful) {
+        long micros = Math.max(1, Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        recorders.get(endpoint).recordValue(micros);
+        if (!successful) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    public void failed(Endpoint endpoint) {
+        errors.get(endpoint).increment();
+    }
+
+    public void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    public Map<Endpoint, Snapshot> snapshot() {
+        Map<Endpoint, Snapshot> snapshot = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            snapshot.put(endpoint, new Snapshot(recorders.get(endpoint).getIntervalHistogram(),
+                    errors.get(endpoint).sum()));
+        }
+        return snapshot;
+    }
+
+    public record Snapshot(Histogram latencies, long errors) {
+    }
+}
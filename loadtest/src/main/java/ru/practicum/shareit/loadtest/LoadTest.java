@@ -0,0 +1,155 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts shareit-server on an in-memory H2 database in PostgreSQL mode and the gateway in front of it, seeds
+ * a dataset through the API and replays a weighted mix of scenarios from many simulated users. Without
+ * {@code loadtest.rate} every worker sends the next request as soon as the previous one completes;
+ * with it the workers together keep the given number of scenarios per second. Latency percentiles and
+ * throughput per endpoint are printed and written to {@code loadtest.output} with the full HdrHistogram
+ * percentile distributions.
+ */
+public class LoadTest {
+    private static final String H2_POSTGRES_URL =
+            "jdbc:h2:mem:shareit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (ServiceProcess server = startServer(config); ServiceProcess gateway = startGateway(config)) {
+            server.awaitHealthy(URI.create("http://localhost:" + config.serverPort() + "/actuator/health"),
+                    config.startupTimeout());
+            gateway.awaitHealthy(URI.create("http://localhost:" + config.gatewayPort() + "/actuator/health"),
+                    config.startupTimeout());
+
+            ShareItApi api = new ShareItApi(URI.create("http://localhost:" + config.gatewayPort()));
+            long seedingStarted = System.nanoTime();
+            Dataset dataset = new DatasetSeeder(api, config).seed();
+            System.out.printf("Данные созданы за %d с%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedingStarted));
+
+            EndpointStats stats = new EndpointStats();
+            run(config, api, dataset, stats);
+            report(config, stats.snapshot());
+        }
+    }
+
+    private static ServiceProcess startServer(LoadTestConfig config) throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=" + config.serverPort(),
+                "--spring.datasource.url=" + H2_POSTGRES_URL,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--logging.level.org.springframework.transaction.interceptor=INFO",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"));
+        args.addAll(config.serverArgs());
+        return ServiceProcess.start("shareit-server", config.serverJar(), config.javaOpts(), args,
+                config.output().resolve("server.log"));
+    }
+
+    private static ServiceProcess startGateway(LoadTestConfig config) throws IOException {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=" + config.gatewayPort(),
+                "--shareit-server.url=http://localhost:" + config.serverPort(),
+                "--logging.level.org.springframework.web.reactive.function.client.ExchangeFunctions=INFO"));
+        args.addAll(config.gatewayArgs());
+        return ServiceProcess.start("shareit-gateway", config.gatewayJar(), config.javaOpts(), args,
+                config.output().resolve("gateway.log"));
+    }
+
+    private static void run(LoadTestConfig config, ShareItApi api, Dataset dataset, EndpointStats stats)
+            throws Exception {
+        Scenario[] wheel = wheel(config.mix());
+        long started = System.nanoTime();
+        long measureFrom = started + config.warmup().toNanos();
+        long deadline = measureFrom + config.duration().toNanos();
+        long period = config.rate() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * config.concurrency() / config.rate()) : 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < config.concurrency(); w++) {
+            Random random = new Random(config.seed() + w);
+            long offset = period * w / config.concurrency();
+            futures.add(workers.submit(() -> {
+                Session session = new Session(api, dataset, stats);
+                long next = started + offset;
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    if (period > 0) {
+                        long wait = next - System.nanoTime();
+                        if (wait > 0) {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        }
+                        session.scheduleAt(next);
+                        next += period;
+                    }
+                    wheel[random.nextInt(wheel.length)].run(session, random);
+                }
+                return null;
+            }));
+        }
+        System.out.printf("Прогрев %s, измерение %s, %d потоков%s%n", config.warmup(), config.duration(),
+                config.concurrency(), config.rate() > 0 ? ", " + config.rate() + " сценариев/с" : "");
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+        stats.reset();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+    }
+
+    private static Scenario[] wheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("Пустой набор сценариев");
+        }
+        return wheel.toArray(Scenario[]::new);
+    }
+
+    private static void report(LoadTestConfig config, Map<Endpoint, EndpointStats.Snapshot> snapshot)
+            throws IOException {
+        Files.createDirectories(config.output());
+        double seconds = config.duration().toMillis() / 1000.0;
+        try (PrintStream file = new PrintStream(config.output().resolve("report.txt").toFile(), "UTF-8")) {
+            for (PrintStream out : List.of(System.out, file)) {
+                out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                        "Endpoint", "Count", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+                snapshot.forEach((endpoint, stats) -> {
+                    Histogram h = stats.latencies();
+                    out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                            endpoint.title(), h.getTotalCount(), stats.errors(), h.getTotalCount() / seconds,
+                            millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0);
+                });
+            }
+        }
+        for (Map.Entry<Endpoint, EndpointStats.Snapshot> entry : snapshot.entrySet()) {
+            Path distribution = config.output().resolve(entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(distribution.toFile(), "UTF-8")) {
+                entry.getValue().latencies().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.println("Отчет и распределения задержек: " + config.output());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Harness settings, read from {@code loadtest.*} system properties.
+ */
+public record LoadTestConfig(
+        Path serverJar,
+        Path gatewayJar,
+        Path output,
+        int serverPort,
+        int gatewayPort,
+        String javaOpts,
+        List<String> serverArgs,
+        List<String> gatewayArgs,
+        Duration startupTimeout,
+        int users,
+        int owners,
+        int itemsPerOwner,
+        int requests,
+        int bookingsPerItem,
+        Duration warmup,
+        Duration duration,
+        int concurrency,
+        double rate,
+        Map<Scenario, Integer> mix,
+        long seed) {
+
+    private static final String DEFAULT_MIX =
+            "item-search:30,item-detail:30,owner-bookings:15,booking-create-approve:10,request-feed:15";
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Path.of(required("loadtest.server.jar")),
+                Path.of(required("loadtest.gateway.jar")),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest")),
+                Integer.getInteger("loadtest.server.port", 19090),
+                Integer.getInteger("loadtest.gateway.port", 18080),
+                System.getProperty("loadtest.java-opts", "-Xmx1g"),
+                split(System.getProperty("loadtest.server.args", "")),
+                split(System.getProperty("loadtest.gateway.args", "")),
+                duration(System.getProperty("loadtest.startup-timeout", "2m")),
+                Integer.getInteger("loadtest.users", 1000),
+                Integer.getInteger("loadtest.owners", 50),
+                Integer.getInteger("loadtest.items-per-owner", 20),
+                Integer.getInteger("loadtest.requests", 200),
+                Integer.getInteger("loadtest.bookings-per-item", 2),
+                duration(System.getProperty("loadtest.warmup", "30s")),
+                duration(System.getProperty("loadtest.duration", "2m")),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Double.parseDouble(System.getProperty("loadtest.rate", "0")),
+                mix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Long.getLong("loadtest.seed", 42L));
+    }
+
+    static Duration duration(String value) {
+        String text = value.trim().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        long amount = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Неизвестная единица длительности: " + value);
+        };
+    }
+
+    private static Map<Scenario, Integer> mix(String value) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Scenario.byName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : new ArrayList<>(Arrays.asList(value.trim().split("\\s+")));
+    }
+
+    private static String required(String name) {
+        String value = System.getProperty(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Не задано системное свойство " + name);
+        }
+        return value;
+    }
+}
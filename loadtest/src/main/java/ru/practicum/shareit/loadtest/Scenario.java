@@ -0,0 +1,74 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Random;
+
+/**
+ * User actions replayed by the harness, each hitting one or more gateway endpoints.
+ */
+public enum Scenario {
+    ITEM_SEARCH("item-search") {
+        @Override
+        void run(Session session, Random random) {
+            session.call(Endpoint.ITEM_SEARCH, "GET",
+                    "/items/search?size=20&text=" + session.encode(Dataset.searchWord(random)),
+                    session.dataset().anyUser(random), null);
+        }
+    },
+    ITEM_DETAIL("item-detail") {
+        @Override
+        void run(Session session, Random random) {
+            session.call(Endpoint.ITEM_DETAIL, "GET", "/items/" + session.dataset().anyItem(random),
+                    session.dataset().anyUser(random), null);
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings") {
+        @Override
+        void run(Session session, Random random) {
+            session.call(Endpoint.OWNER_BOOKINGS, "GET", "/bookings/owner?state=ALL&limit=20",
+                    session.dataset().anyOwner(random), null);
+        }
+    },
+    BOOKING_CREATE_APPROVE("booking-create-approve") {
+        @Override
+        void run(Session session, Random random) {
+            Dataset dataset = session.dataset();
+            long itemId = dataset.anyItem(random);
+            ShareItApi.Response created = session.call(Endpoint.BOOKING_CREATE, "POST", "/bookings",
+                    dataset.bookerFor(itemId, random), DatasetSeeder.bookingBody(itemId, dataset));
+            if (created != null && created.isSuccessful()) {
+                session.call(Endpoint.BOOKING_APPROVE, "PATCH",
+                        "/bookings/" + created.json().get("id").asLong() + "?approved=" + random.nextBoolean(),
+                        dataset.ownerOf(itemId), null);
+            }
+        }
+    },
+    REQUEST_FEED("request-feed") {
+        @Override
+        void run(Session session, Random random) {
+            session.call(Endpoint.REQUEST_FEED, "GET", "/requests/all?limit=20",
+                    session.dataset().anyUser(random), null);
+        }
+    };
+
+    private final String name;
+
+    Scenario(String name) {
+        this.name = name;
+    }
+
+    abstract void run(Session session, Random random);
+
+    public static Scenario byName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.name.equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный сценарий: " + name);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Calls made by one worker. In open-loop mode the latency of the first call of a scenario is measured from
+ * its scheduled start rather than from the moment it was sent, so a stalled server is not hidden by
+ * workers that simply issue fewer requests (coordinated omission).
+ */
+public class Session {
+    private final ShareItApi api;
+    private final Dataset dataset;
+    private final EndpointStats stats;
+    private long scheduledStart;
+
+    public Session(ShareItApi api, Dataset dataset, EndpointStats stats) {
+        this.api = api;
+        this.dataset = dataset;
+        this.stats = stats;
+    }
+
+    public Dataset dataset() {
+        return dataset;
+    }
+
+    void scheduleAt(long nanoTime) {
+        scheduledStart = nanoTime;
+    }
+
+    ShareItApi.Response call(Endpoint endpoint, String method, String pathAndQuery, long userId, Object body) {
+        long start = scheduledStart > 0 ? scheduledStart : System.nanoTime();
+        scheduledStart = 0;
+        try {
+            ShareItApi.Response response = api.send(method, pathAndQuery, userId, body);
+            stats.record(endpoint, System.nanoTime() - start, response.isSuccessful());
+            return response;
+        } catch (IOException e) {
+            stats.failed(endpoint);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -2,12 +2,15 @@ package ru.practicum.shareit.booking;
 
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutputDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.HeaderConstants;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Pagination;
 
 import java.util.List;
 
@@ -38,14 +41,26 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingOutputDto> getUsersBookings(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Integer userId,
-                                                   @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getAllUserBookings(userId, state);
+    public ResponseEntity<List<BookingOutputDto>> getUsersBookings(
+            @RequestHeader(HeaderConstants.SHARER_ID_HEADER) Integer userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        List<BookingOutputDto> bookings = bookingService.getAllUserBookings(userId, state, limit, cursor);
+        return Pagination.keysetPage(bookings, limit, cursor, BookingController::cursorOf);
     }
 
     @GetMapping("/owner")
-    public List<BookingOutputDto> getAllItemBookingsOfOwner(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Integer userId,
-                                                            @RequestParam(defaultValue = "ALL") String state) {
-        return bookingService.getAllOwnerItemBookings(userId, state);
+    public ResponseEntity<List<BookingOutputDto>> getAllItemBookingsOfOwner(
+            @RequestHeader(HeaderConstants.SHARER_ID_HEADER) Integer userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        List<BookingOutputDto> bookings = bookingService.getAllOwnerItemBookings(userId, state, limit, cursor);
+        return Pagination.keysetPage(bookings, limit, cursor, BookingController::cursorOf);
+    }
+
+    private static KeysetCursor cursorOf(BookingOutputDto booking) {
+        return new KeysetCursor(booking.getStart(), booking.getId());
     }
 }
@@ -40,4 +40,8 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private Status status;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
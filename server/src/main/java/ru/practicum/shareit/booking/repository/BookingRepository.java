@@ -1,50 +1,50 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingSlot;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-
-    List<Booking> findAllByBookerIdOrderByStartDesc(Integer bookerId);
-
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartAsc(
-            Integer bookerId, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Integer bookerId, LocalDateTime dateTime);
-
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Integer bookerId, LocalDateTime dateTime);
-
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Integer bookerId, Status status);
-
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Integer ownerId);
-
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartAsc(
-            Integer ownerId, LocalDateTime start, LocalDateTime end);
-
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Integer ownerId, LocalDateTime dateTime);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Integer ownerId, LocalDateTime dateTime);
-
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Integer ownerId, Status status);
-
-    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
-            Integer itemId,
-            Status status,
-            LocalDateTime dateTime);
-
-    Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(
-            Integer itemId,
-            Status status,
-            LocalDateTime dateTime);
+public interface BookingRepository extends JpaRepository<Booking, Integer>, JpaSpecificationExecutor<Booking> {
 
     Optional<Booking> findFirstByItemIdAndBookerIdAndStatusAndEndBefore(
             Integer itemId,
             Integer userId,
             Status status,
             LocalDateTime dateTime);
+
+    @Query(value = "SELECT id, start_date, end_date, item_id, booker_id, status, version FROM (" +
+            "   SELECT b.*, ROW_NUMBER() OVER (" +
+            "       PARTITION BY b.item_id, CASE WHEN b.start_date < ?2 THEN 0 ELSE 1 END " +
+            "       ORDER BY CASE WHEN b.start_date < ?2 THEN b.start_date END DESC, b.start_date) AS position " +
+            "   FROM bookings b " +
+            "   WHERE b.item_id IN ?1 " +
+            "   AND b.status = 'APPROVED' " +
+            "   AND b.start_date <> ?2) ranked " +
+            "WHERE position = 1", nativeQuery = true)
+    List<Booking> findLastAndNextApprovedByItemIdIn(Collection<Integer> itemIds, LocalDateTime dateTime);
+
+    /**
+     * Moves a WAITING booking of an item owned by {@code ownerId} to {@code status}. Returns 0 when the
+     * booking is missing, belongs to someone else's item or has already been decided.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?3, b.version = b.version + 1 " +
+            "WHERE b.id = ?1 " +
+            "AND b.status = ru.practicum.shareit.booking.model.Status.WAITING " +
+            "AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = ?2)")
+    int decideIfWaiting(Integer bookingId, Integer ownerId, Status status);
+
+    @Query("SELECT new ru.practicum.shareit.booking.model.BookingSlot(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b " +
+            "WHERE b.status IN ?1 AND b.end > ?2")
+    List<BookingSlot> findSlotsByStatusInAndEndAfter(Collection<Status> statuses, LocalDateTime now);
 }
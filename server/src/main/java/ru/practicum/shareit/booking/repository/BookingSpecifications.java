@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+
+@UtilityClass
+public class BookingSpecifications {
+    private static final String START = "start";
+    private static final String ID = "id";
+
+    public static Specification<Booking> withItemAndBooker() {
+        return (root, query, builder) -> {
+            if (!Long.class.equals(query.getResultType())) {
+                root.fetch("item", JoinType.INNER).fetch("owner", JoinType.INNER);
+                root.fetch("booker", JoinType.INNER);
+            }
+            return builder.conjunction();
+        };
+    }
+
+    public static Specification<Booking> idIs(Integer bookingId) {
+        return (root, query, builder) -> builder.equal(root.get(ID), bookingId);
+    }
+
+    public static Specification<Booking> bookerIs(Integer bookerId) {
+        return (root, query, builder) -> builder.equal(root.get("booker").get(ID), bookerId);
+    }
+
+    public static Specification<Booking> itemOwnerIs(Integer ownerId) {
+        return (root, query, builder) -> builder.equal(root.get("item").get("owner").get(ID), ownerId);
+    }
+
+    public static Specification<Booking> inState(State state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> (root, query, builder) -> builder.conjunction();
+            case CURRENT -> (root, query, builder) -> builder.and(
+                    builder.lessThan(root.get(START), now),
+                    builder.greaterThan(root.get("end"), now));
+            case PAST -> (root, query, builder) -> builder.lessThan(root.get("end"), now);
+            case FUTURE -> (root, query, builder) -> builder.greaterThan(root.get(START), now);
+            case WAITING -> hasStatus(Status.WAITING);
+            case REJECTED -> hasStatus(Status.REJECTED);
+        };
+    }
+
+    public static Specification<Booking> after(KeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, builder) -> {
+            if (direction.isAscending()) {
+                return builder.or(
+                        builder.greaterThan(root.get(START), cursor.getTimestamp()),
+                        builder.and(builder.equal(root.get(START), cursor.getTimestamp()),
+                                builder.greaterThan(root.get(ID), cursor.getId())));
+            }
+            return builder.or(
+                    builder.lessThan(root.get(START), cursor.getTimestamp()),
+                    builder.and(builder.equal(root.get(START), cursor.getTimestamp()),
+                            builder.lessThan(root.get(ID), cursor.getId())));
+        };
+    }
+
+    public static Sort.Direction directionFor(State state) {
+        return state == State.CURRENT ? Sort.Direction.ASC : Sort.Direction.DESC;
+    }
+
+    public static Sort sortFor(State state) {
+        return Sort.by(directionFor(state), START, ID);
+    }
+
+    private static Specification<Booking> hasStatus(Status status) {
+        return (root, query, builder) -> builder.equal(root.get("status"), status);
+    }
+}
@@ -0,0 +1,234 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingSlot;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of WAITING and APPROVED bookings per item, used to reject overlapping bookings
+ * without scanning the bookings table. A check followed by an insert must be wrapped into
+ * {@link #withItemLock(Integer, Supplier)} so that it stays atomic per item. Only bookings that have not
+ * ended are kept: ended ones are skipped on rebuild and pruned from an item's timeline whenever it is used.
+ */
+@Slf4j
+@Component
+public class BookingIntervalIndex implements SmartInitializingSingleton {
+    public static final List<Status> BLOCKING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final Map<Integer, ItemTimeline> timelines = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        List<BookingSlot> slots = bookingRepository.findSlotsByStatusInAndEndAfter(BLOCKING_STATUSES,
+                LocalDateTime.now());
+        Map<Integer, ItemTimeline> loaded = new HashMap<>();
+        for (BookingSlot slot : slots) {
+            loaded.computeIfAbsent(slot.getItemId(), id -> new ItemTimeline()).add(slot);
+        }
+        timelines.clear();
+        timelines.putAll(loaded);
+        log.info("Индекс бронирований построен: {} бронирований для {} предметов", slots.size(), loaded.size());
+    }
+
+    public <T> T withItemLock(Integer itemId, Supplier<T> action) {
+        ReentrantLock lock = lockFor(itemId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean overlaps(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        return withItemLock(itemId, () -> {
+            ItemTimeline timeline = prunedTimeline(itemId);
+            return timeline != null && timeline.overlaps(start, end);
+        });
+    }
+
+    public void add(Booking booking) {
+        BookingSlot slot = toSlot(booking);
+        withItemLock(slot.getItemId(), () -> {
+            prunedTimeline(slot.getItemId());
+            timelines.computeIfAbsent(slot.getItemId(), id -> new ItemTimeline()).add(slot);
+            return null;
+        });
+        afterTransaction(false, () -> removeSlot(slot));
+    }
+
+    public void remove(Booking booking) {
+        BookingSlot slot = toSlot(booking);
+        afterTransaction(true, () -> removeSlot(slot));
+    }
+
+    public int size(Integer itemId) {
+        return withItemLock(itemId, () -> {
+            ItemTimeline timeline = timelines.get(itemId);
+            return timeline == null ? 0 : timeline.size();
+        });
+    }
+
+    public Duration longest(Integer itemId) {
+        return withItemLock(itemId, () -> {
+            ItemTimeline timeline = timelines.get(itemId);
+            return timeline == null ? Duration.ZERO : timeline.longest();
+        });
+    }
+
+    private void removeSlot(BookingSlot slot) {
+        withItemLock(slot.getItemId(), () -> {
+            ItemTimeline timeline = timelines.get(slot.getItemId());
+            if (timeline != null) {
+                timeline.remove(slot.getBookingId());
+            }
+            return null;
+        });
+    }
+
+    private ItemTimeline prunedTimeline(Integer itemId) {
+        ItemTimeline timeline = timelines.get(itemId);
+        if (timeline != null && timeline.removeEndedBefore(LocalDateTime.now()) && timeline.size() == 0) {
+            timelines.remove(itemId);
+            return null;
+        }
+        return timeline;
+    }
+
+    private ReentrantLock lockFor(Integer itemId) {
+        return locks[Math.floorMod(itemId, LOCK_STRIPES)];
+    }
+
+    private static BookingSlot toSlot(Booking booking) {
+        return new BookingSlot(booking.getId(), booking.getItem().getId(), booking.getStart(), booking.getEnd());
+    }
+
+    private static void afterTransaction(boolean onCommit, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (onCommit) {
+                action.run();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                if (committed == onCommit) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Slots of one item ordered by start. A slot overlapping a window starts at most {@code longest} before it,
+     * so the scan begins there; lengths are counted per value so that {@code longest} shrinks again when the
+     * longest slot is removed or pruned.
+     */
+    private static class ItemTimeline {
+        private static final Comparator<BookingSlot> ORDER = Comparator.comparing(BookingSlot::getStart)
+                .thenComparing(BookingSlot::getBookingId);
+
+        private final NavigableSet<BookingSlot> slots = new TreeSet<>(ORDER);
+        private final Map<Integer, BookingSlot> byBookingId = new HashMap<>();
+        private final NavigableMap<Duration, Integer> lengths = new TreeMap<>();
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            BookingSlot from = new BookingSlot(Integer.MIN_VALUE, null, start.minus(longest()), null);
+            BookingSlot to = new BookingSlot(Integer.MIN_VALUE, null, end, null);
+            for (BookingSlot slot : slots.subSet(from, true, to, false)) {
+                if (slot.overlaps(start, end)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(BookingSlot slot) {
+            BookingSlot previous = byBookingId.put(slot.getBookingId(), slot);
+            if (previous != null) {
+                slots.remove(previous);
+                forgetLength(previous);
+            }
+            slots.add(slot);
+            lengths.merge(length(slot), 1, Integer::sum);
+        }
+
+        void remove(Integer bookingId) {
+            BookingSlot slot = byBookingId.remove(bookingId);
+            if (slot != null) {
+                slots.remove(slot);
+                forgetLength(slot);
+            }
+        }
+
+        boolean removeEndedBefore(LocalDateTime now) {
+            BookingSlot to = new BookingSlot(Integer.MIN_VALUE, null, now, null);
+            boolean removed = false;
+            Iterator<BookingSlot> started = slots.headSet(to, false).iterator();
+            while (started.hasNext()) {
+                BookingSlot slot = started.next();
+                if (!slot.getEnd().isAfter(now)) {
+                    started.remove();
+                    byBookingId.remove(slot.getBookingId());
+                    forgetLength(slot);
+                    removed = true;
+                }
+            }
+            return removed;
+        }
+
+        int size() {
+            return slots.size();
+        }
+
+        Duration longest() {
+            return lengths.isEmpty() ? Duration.ZERO : lengths.lastKey();
+        }
+
+        private void forgetLength(BookingSlot slot) {
+            lengths.computeIfPresent(length(slot), (length, count) -> count == 1 ? null : count - 1);
+        }
+
+        private static Duration length(BookingSlot slot) {
+            return Duration.between(slot.getStart(), slot.getEnd());
+        }
+    }
+}
@@ -14,9 +14,9 @@ public interface BookingService {
 
     BookingOutputDto getBooking(Integer userId, Integer bookingId);
 
-    List<BookingOutputDto> getAllUserBookings(Integer userId, String state);
+    List<BookingOutputDto> getAllUserBookings(Integer userId, String state, Integer limit, String cursor);
 
-    List<BookingOutputDto> getAllOwnerItemBookings(Integer userId, String state);
+    List<BookingOutputDto> getAllOwnerItemBookings(Integer userId, String state, Integer limit, String cursor);
 
     Booking getById(Integer id);
 
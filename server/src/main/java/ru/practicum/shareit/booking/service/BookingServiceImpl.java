@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -11,11 +13,15 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
@@ -33,6 +39,7 @@ public class BookingServiceImpl implements BookingService {
     private final UserService userService;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
     @Transactional
@@ -57,27 +64,23 @@ public class BookingServiceImpl implements BookingService {
         }
         booking.setItem(item);
         booking.setBooker(user);
-        return BookingMapper.toBookingOutDto(bookingRepository.save(booking));
+        return BookingMapper.toBookingOutDto(reserve(booking));
     }
 
     @Override
     @Transactional
     public BookingOutputDto approveBooking(Integer ownerId, Integer bookingId, Boolean approved) {
-        Booking booking = getById(bookingId);
-        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
-            throw new AccessDeniedException(
-                    String.format("Пользователь %s не владелец предмета", ownerId));
+        Status decision = approved ? Status.APPROVED : Status.REJECTED;
+        if (bookingRepository.decideIfWaiting(bookingId, ownerId, decision) == 0) {
+            throw decisionRefused(ownerId, bookingId);
         }
-        userService.getUserById(ownerId);
-        if (booking.getStatus().equals(Status.APPROVED)) {
-            throw new ValidationException("Бронирование уже подтверждено");
+        Booking booking = bookingRepository.findOne(BookingSpecifications.withItemAndBooker()
+                        .and(BookingSpecifications.idIs(bookingId)))
+                .orElseThrow(() -> new NotFoundException(String.format("Не найдено бронирование c id: %s", bookingId)));
+        if (decision == Status.REJECTED) {
+            bookingIntervalIndex.remove(booking);
         }
-        if (approved) {
-            booking.setStatus(Status.APPROVED);
-        } else {
-            booking.setStatus(Status.REJECTED);
-        }
-        bookingRepository.save(booking);
+        log.info("Бронирование {} переведено в статус {}", bookingId, decision);
         return BookingMapper.toBookingOutDto(booking);
     }
 
@@ -94,71 +97,61 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingOutputDto> getAllUserBookings(Integer userId, String state) {
+    public List<BookingOutputDto> getAllUserBookings(Integer userId, String state, Integer limit, String cursor) {
         userService.getUserById(userId);
-        State bookingState = State.getEnumValue(state);
-        LocalDateTime currentTime = LocalDateTime.now();
-        List<Booking> bookings;
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(userId);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartAsc(userId, currentTime, currentTime);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, currentTime);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(userId, currentTime);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, Status.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(userId, Status.REJECTED);
-                break;
-            default:
-                throw new IllegalArgumentException("Некорректный статус бронирования: " + state);
-        }
-        return bookings.stream()
-                .map(BookingMapper::toBookingOutDto)
-                .collect(Collectors.toList());
+        return findBookings(BookingSpecifications.bookerIs(userId), State.getEnumValue(state), limit, cursor);
     }
 
     @Override
-    public List<BookingOutputDto> getAllOwnerItemBookings(Integer userId, String state) {
+    public List<BookingOutputDto> getAllOwnerItemBookings(Integer userId, String state, Integer limit, String cursor) {
         userService.getUserById(userId);
-        State bookingState = State.getEnumValue(state);
-        LocalDateTime currentTime = LocalDateTime.now();
+        return findBookings(BookingSpecifications.itemOwnerIs(userId), State.getEnumValue(state), limit, cursor);
+    }
+
+    private List<BookingOutputDto> findBookings(Specification<Booking> role, State state, Integer limit, String cursor) {
+        Sort sort = BookingSpecifications.sortFor(state);
+        Specification<Booking> specification = BookingSpecifications.withItemAndBooker()
+                .and(role)
+                .and(BookingSpecifications.inState(state, LocalDateTime.now()));
         List<Booking> bookings;
-        switch (bookingState) {
-            case ALL:
-                bookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(userId);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartAsc(userId, currentTime, currentTime);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, currentTime);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(userId, currentTime);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.WAITING);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(userId, Status.REJECTED);
-                break;
-            default:
-                throw new IllegalArgumentException("Некорректный статус бронирования: " + state);
+        if (Pagination.isRequested(limit, cursor)) {
+            int pageSize = Pagination.pageSize(limit);
+            if (cursor != null) {
+                specification = specification.and(BookingSpecifications.after(KeysetCursor.decode(cursor),
+                        BookingSpecifications.directionFor(state)));
+            }
+            bookings = bookingRepository.findBy(specification, query -> query.sortBy(sort).limit(pageSize).all());
+        } else {
+            bookings = bookingRepository.findAll(specification, sort);
         }
         return bookings.stream()
                 .map(BookingMapper::toBookingOutDto)
                 .collect(Collectors.toList());
     }
 
+    private Booking reserve(Booking booking) {
+        Integer itemId = booking.getItem().getId();
+        return bookingIntervalIndex.withItemLock(itemId, () -> {
+            if (bookingIntervalIndex.overlaps(itemId, booking.getStart(), booking.getEnd())) {
+                throw new ConflictException("Предмет уже забронирован на указанные даты");
+            }
+            Booking saved = bookingRepository.save(booking);
+            bookingIntervalIndex.add(saved);
+            return saved;
+        });
+    }
+
+    private RuntimeException decisionRefused(Integer ownerId, Integer bookingId) {
+        Booking booking = getById(bookingId);
+        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
+            return new AccessDeniedException(String.format("Пользователь %s не владелец предмета", ownerId));
+        }
+        if (booking.getStatus() == Status.APPROVED) {
+            return new ValidationException("Бронирование уже подтверждено");
+        }
+        return new ValidationException("Бронирование уже рассмотрено, текущий статус: " + booking.getStatus());
+    }
+
     @Override
     public Booking getById(Integer id) {
         return bookingRepository.findById(id)
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.exception.PreconditionFailedException;
+import ru.practicum.shareit.item.dto.CommentOutputDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOutputDto;
+import ru.practicum.shareit.request.dto.ItemRequestOutputDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Strong ETags of single-resource representations, derived from entity versions and the identifiers
+ * of embedded data instead of the serialized body, so revalidation does not need to render the response.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(UserDto user) {
+        return tag("user", user.getId(), user.getVersion());
+    }
+
+    /**
+     * Tag of {@code GET /items/{id}}, which is also the only tag {@code PATCH /items/{id}} accepts in If-Match:
+     * a new booking or comment changes the representation, so an edit based on the older one fails with 412.
+     */
+    public static String of(ItemOutputDto item) {
+        StringJoiner comments = new StringJoiner(",");
+        if (item.getComments() != null) {
+            item.getComments().stream().map(CommentOutputDto::getId).forEach(id -> comments.add(String.valueOf(id)));
+        }
+        return tag("item", item.getId(), item.getVersion(),
+                item.getLastBooking() == null ? null : item.getLastBooking().getId(),
+                item.getNextBooking() == null ? null : item.getNextBooking().getId(),
+                item.getCommentCount(), comments);
+    }
+
+    public static String of(ItemRequestOutputDto request) {
+        StringJoiner items = new StringJoiner(",");
+        if (request.getItems() != null) {
+            for (ItemDto item : request.getItems()) {
+                items.add(item.getId() + "v" + item.getVersion());
+            }
+        }
+        return tag("request", request.getId(), request.getVersion(), items);
+    }
+
+    public static void checkIfMatch(String ifMatch, String current) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        boolean matches = Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(current));
+        if (!matches) {
+            throw new PreconditionFailedException("Объект был изменен, текущая версия: " + current);
+        }
+    }
+
+    private static String tag(Object... parts) {
+        StringJoiner source = new StringJoiner(":");
+        for (Object part : parts) {
+            source.add(String.valueOf(part));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
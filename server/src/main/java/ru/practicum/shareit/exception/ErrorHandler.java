@@ -1,5 +1,6 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -32,4 +33,16 @@ public class ErrorHandler {
     public ErrorResponse handleConflictError(final ConflictException error) {
         return new ErrorResponse(error.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrentUpdate(final OptimisticLockingFailureException error) {
+        return new ErrorResponse("Объект был изменен другим запросом, повторите попытку");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorResponse handlePreconditionFailed(final PreconditionFailedException error) {
+        return new ErrorResponse(error.getMessage());
+    }
 }
\ No newline at end of file
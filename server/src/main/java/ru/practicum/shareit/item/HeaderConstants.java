@@ -2,4 +2,5 @@ package ru.practicum.shareit.item;
 
 public class HeaderConstants {
     public static final String SHARER_ID_HEADER = "X-Sharer-User-Id";
-}
\ No newline at end of file
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+}
@@ -3,10 +3,20 @@ package ru.practicum.shareit.item;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Pagination;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -24,26 +34,53 @@ public class ItemController {
     @PatchMapping("/{itemId}")
     public ItemDto editItem(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Integer userId,
                             @PathVariable Integer itemId,
-                            @RequestBody ItemDto itemDto) {
-        return itemService.editItem(userId, itemId, itemDto);
+                            @RequestBody ItemDto itemDto,
+                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return itemService.editItem(userId, itemId, itemDto, ifMatch);
     }
 
     @GetMapping("/{itemId}")
     public ItemOutputDto getItem(
             @RequestHeader(HeaderConstants.SHARER_ID_HEADER) Integer userId,
-            @Positive @PathVariable Integer itemId) {
-        return itemService.addBookingInfoAndComments(itemId, userId);
+            @Positive @PathVariable Integer itemId,
+            WebRequest webRequest) {
+        ItemOutputDto item = itemService.addBookingInfoAndComments(itemId, userId);
+        if (webRequest.checkNotModified(EntityTags.of(item))) {
+            return null;
+        }
+        return item;
     }
 
     @GetMapping
-    public List<ItemDto> getItemsOfUser(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Integer userId) {
-        return itemService.getItemsOfUser(userId);
+    public List<ItemOutputDto> getItemsOfUser(@RequestHeader(HeaderConstants.SHARER_ID_HEADER) Integer userId,
+                                              @RequestParam(defaultValue = "0") Integer from,
+                                              @RequestParam(required = false) Integer size) {
+        return itemService.getItemsOfUser(userId, from, size);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam(name = "text") String searchQuery) {
-        return itemService.search(searchQuery);
+    public List<ItemDto> search(@RequestParam(name = "text") String searchQuery,
+                                @RequestParam(defaultValue = "0") Integer from,
+                                @RequestParam(required = false) Integer size) {
+        return itemService.search(searchQuery, from, size);
+    }
+
+    @GetMapping("/search/stream")
+    public ResponseEntity<StreamingResponseBody> searchStream(@RequestParam(name = "text") String searchQuery) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> itemService.streamSearch(searchQuery, outputStream));
+
+    }
 
+    @GetMapping("/available")
+    public List<ItemDto> searchAvailable(
+            @RequestParam(name = "text", defaultValue = "") String searchQuery,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") Integer offset,
+            @RequestParam(required = false) Integer size) {
+        return itemService.searchAvailable(searchQuery, from, to, offset, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -53,4 +90,13 @@ public class ItemController {
         return itemService.addComment(userId, commentDto, itemId);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentOutputDto>> getComments(@Positive @PathVariable Integer itemId,
+                                                              @RequestParam(required = false) Integer limit,
+                                                              @RequestParam(required = false) String cursor) {
+        List<CommentOutputDto> comments = itemService.getComments(itemId, limit, cursor);
+        return Pagination.boundedKeysetPage(comments, limit,
+                comment -> new KeysetCursor(comment.getCreated(), comment.getId()));
+    }
+
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.dto;
 
 import lombok.experimental.UtilityClass;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.ItemDetailRow;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +24,15 @@ public class CommentMapper {
                 .build();
     }
 
+    public static CommentOutputDto toCommentOutputDto(ItemDetailRow row) {
+        return CommentOutputDto.builder()
+                .id(row.getCommentId())
+                .text(row.getCommentText())
+                .authorName(row.getAuthorName())
+                .created(row.getCommentCreated())
+                .build();
+    }
+
     public static List<CommentOutputDto> toCommentOutDtoList(List<Comment> comments) {
         List<CommentOutputDto> result = new ArrayList<>();
         for (Comment comment : comments) {
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import ru.practicum.shareit.user.User;
 
 @Data
@@ -14,4 +16,8 @@ public class ItemDto {
     private User owner;
     private String request;
     private Integer requestId;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -12,6 +12,7 @@ public class ItemMapper {
                 .name(itemDto.getName())
                 .description(itemDto.getDescription())
                 .available(itemDto.getAvailable())
+                .version(itemDto.getVersion())
                 .build();
     }
 
@@ -21,6 +22,7 @@ public class ItemMapper {
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
+                .version(item.getVersion())
                 .build();
         if (item.getRequest() != null) {
             itemDto.setRequestId(item.getRequest().getId());
@@ -29,12 +31,17 @@ public class ItemMapper {
     }
 
     public static ItemOutputDto toItemOutputDto(Item item) {
-        return ItemOutputDto.builder()
+        ItemOutputDto itemOutputDto = ItemOutputDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
+                .version(item.getVersion())
                 .build();
+        if (item.getRequest() != null) {
+            itemOutputDto.setRequestId(item.getRequest().getId());
+        }
+        return itemOutputDto;
     }
 
 
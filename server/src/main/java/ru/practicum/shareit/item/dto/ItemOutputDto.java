@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 
@@ -28,6 +30,11 @@ public class ItemOutputDto {
 
     private List<CommentOutputDto> comments;
 
+    private Integer commentCount;
+
     private Integer requestId;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
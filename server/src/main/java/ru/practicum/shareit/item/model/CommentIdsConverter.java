@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Converter
+public class CommentIdsConverter implements AttributeConverter<List<Integer>, String> {
+    private static final String SEPARATOR = ",";
+
+    @Override
+    public String convertToDatabaseColumn(List<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        return ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+    }
+
+    @Override
+    public List<Integer> convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return new ArrayList<>();
+        }
+        return Arrays.stream(column.split(SEPARATOR))
+                .map(String::trim)
+                .map(Integer::valueOf)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
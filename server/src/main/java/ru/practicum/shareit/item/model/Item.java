@@ -38,4 +38,8 @@ public class Item {
     @EqualsAndHashCode.Exclude
     private ItemRequest request;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
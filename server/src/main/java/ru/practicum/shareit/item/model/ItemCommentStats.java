@@ -0,0 +1,96 @@
+package ru.practicum.shareit.item.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-item comment aggregates kept next to the item so that listings can show the comment count and
+ * the latest comments without reading the whole comments table. Updated in the same transaction as the
+ * comment insert. The id is the item id, so new rows are marked as such to be persisted without the select
+ * that a merge of an assigned id would issue.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "item_comment_stats")
+public class ItemCommentStats implements Persistable<Integer> {
+    public static final int PREVIEW_SIZE = 5;
+
+    private static final Comparator<Comment> OLDEST_FIRST = Comparator.comparing(Comment::getCreated)
+            .thenComparing(Comment::getId);
+
+    @Id
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(name = "comment_count", nullable = false)
+    private int commentCount;
+
+    @Column(name = "last_comment_at")
+    private LocalDateTime lastCommentAt;
+
+    @Builder.Default
+    @Convert(converter = CommentIdsConverter.class)
+    @Column(name = "recent_comment_ids")
+    private List<Integer> recentCommentIds = new ArrayList<>();
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean stored;
+
+    public static ItemCommentStats empty(Integer itemId) {
+        return ItemCommentStats.builder()
+                .itemId(itemId)
+                .build();
+    }
+
+    public static ItemCommentStats of(Integer itemId, List<Comment> comments) {
+        ItemCommentStats stats = empty(itemId);
+        comments.stream()
+                .sorted(OLDEST_FIRST)
+                .forEach(stats::register);
+        return stats;
+    }
+
+    @Override
+    public Integer getId() {
+        return itemId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+
+    public void register(Comment comment) {
+        commentCount++;
+        if (lastCommentAt == null || !comment.getCreated().isBefore(lastCommentAt)) {
+            lastCommentAt = comment.getCreated();
+        }
+        List<Integer> recent = new ArrayList<>(PREVIEW_SIZE);
+        recent.add(comment.getId());
+        for (Integer id : recentCommentIds) {
+            if (recent.size() == PREVIEW_SIZE) {
+                break;
+            }
+            recent.add(id);
+        }
+        recentCommentIds = recent;
+    }
+}
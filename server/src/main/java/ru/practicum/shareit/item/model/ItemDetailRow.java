@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the item detail query: the item with its last and next approved bookings
+ * (visible to the owner only), the total comment count and at most one comment from the first page
+ * of newest comments with its author's name.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemDetailRow {
+    private final Item item;
+
+    private final Booking lastBooking;
+
+    private final Booking nextBooking;
+
+    private final Integer commentCount;
+
+    private final Integer commentId;
+
+    private final String commentText;
+
+    private final String authorName;
+
+    private final LocalDateTime commentCreated;
+}
@@ -1,12 +1,41 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentOutputDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
-    List<Comment> findAllByItemId(Integer itemId);
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.item.id IN ?1 " +
+            "ORDER BY c.created")
+    List<Comment> findAllWithAuthorByItemIdIn(Collection<Integer> itemIds);
+
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.id IN ?1")
+    List<Comment> findAllWithAuthorByIdIn(Collection<Integer> ids);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentOutputDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c " +
+            "JOIN c.author a " +
+            "WHERE c.item.id = ?1 " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentOutputDto> findNewestByItemId(Integer itemId, Limit limit);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentOutputDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c " +
+            "JOIN c.author a " +
+            "WHERE c.item.id = ?1 " +
+            "AND (c.created < ?2 OR (c.created = ?2 AND c.id < ?3)) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<CommentOutputDto> findNewestByItemIdBefore(Integer itemId, LocalDateTime created, Integer id, Limit limit);
 
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ItemCommentStatsRepository extends JpaRepository<ItemCommentStats, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ItemCommentStats s WHERE s.itemId = ?1")
+    Optional<ItemCommentStats> findForUpdate(Integer itemId);
+
+    List<ItemCommentStats> findAllByItemIdIn(Collection<Integer> itemIds);
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads search results through a JDBC cursor so that they can be written out without materializing the whole list.
+ * The returned stream must be consumed and closed inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemJdbcRepository {
+    public static final int FETCH_SIZE = 500;
+
+    private static final String COLUMNS = "SELECT id, name, description, is_available, request_id FROM items ";
+
+    private static final String SEARCH_SQL = COLUMNS +
+            "WHERE is_available = TRUE " +
+            "AND (UPPER(name) LIKE UPPER(CONCAT('%', ?, '%')) ESCAPE '\\' " +
+            "   OR UPPER(description) LIKE UPPER(CONCAT('%', ?, '%')) ESCAPE '\\') " +
+            "ORDER BY id";
+
+    private static final String FULL_TEXT_SEARCH_SQL = COLUMNS +
+            "WHERE is_available = TRUE " +
+            "AND search_vector @@ (to_tsquery('russian', ?) || to_tsquery('simple', ?)) " +
+            "ORDER BY ts_rank(search_vector, to_tsquery('russian', ?) || to_tsquery('simple', ?)) DESC, id";
+
+    private static final RowMapper<ItemDto> ITEM_DTO = (resultSet, rowNum) -> {
+        // request_id is BIGINT, which the PostgreSQL driver does not read as Integer
+        int requestId = resultSet.getInt("request_id");
+        return ItemDto.builder()
+                .id(resultSet.getInt("id"))
+                .name(resultSet.getString("name"))
+                .description(resultSet.getString("description"))
+                .available(resultSet.getBoolean("is_available"))
+                .requestId(resultSet.wasNull() ? null : requestId)
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Stream<ItemDto> streamSearch(String escapedText) {
+        return stream(SEARCH_SQL, escapedText, escapedText);
+    }
+
+    public Stream<ItemDto> streamFullTextSearch(String tsQuery) {
+        return stream(FULL_TEXT_SEARCH_SQL, tsQuery, tsQuery, tsQuery, tsQuery);
+    }
+
+    public List<ItemDto> findAllByIdIn(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(COLUMNS + "WHERE id IN (" + placeholders + ") ORDER BY id", ITEM_DTO,
+                ids.toArray());
+    }
+
+    private Stream<ItemDto> stream(String sql, Object... parameters) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return statement;
+        }, ITEM_DTO);
+    }
+}
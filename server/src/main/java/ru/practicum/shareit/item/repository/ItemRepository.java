@@ -1,21 +1,88 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDetailRow;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
-    List<Item> findByOwnerId(Integer userId);
+    List<Item> findByOwnerId(Integer userId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = ?1")
+    Optional<Item> findForUpdate(Integer itemId);
 
     @Query("SELECT i FROM Item i " +
-            "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) " +
-            "   OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%'))) " +
+            "WHERE (UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) ESCAPE '\\' " +
+            "   OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')) ESCAPE '\\') " +
             "AND i.available = TRUE")
-    List<Item> search(String text);
+    List<Item> search(String escapedText, Pageable pageable);
+
+    @Query(value = "SELECT i.* FROM items i " +
+            "WHERE i.is_available = TRUE " +
+            "AND i.search_vector @@ (to_tsquery('russian', ?1) || to_tsquery('simple', ?1)) " +
+            "ORDER BY ts_rank(i.search_vector, to_tsquery('russian', ?1) || to_tsquery('simple', ?1)) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchFullText(String tsQuery, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.available = TRUE " +
+            "AND (?1 = '' " +
+            "   OR UPPER(i.name) LIKE UPPER(CONCAT('%', ?1, '%')) ESCAPE '\\' " +
+            "   OR UPPER(i.description) LIKE UPPER(CONCAT('%', ?1, '%')) ESCAPE '\\') " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b " +
+            "   WHERE b.item = i " +
+            "   AND b.status IN ?4 " +
+            "   AND b.start < ?3 " +
+            "   AND b.end > ?2)")
+    List<Item> searchAvailable(String escapedText, LocalDateTime from, LocalDateTime to,
+                               Collection<Status> blockingStatuses, Pageable pageable);
 
     List<Item> findAllByRequestId(Integer requestId);
 
+    List<Item> findAllByRequestIdIn(Collection<Integer> requestIds);
+
+    @Query("SELECT new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description, i.available, " +
+            "i.version) " +
+            "FROM Item i " +
+            "WHERE i.available = TRUE")
+    List<ItemSearchDocument> findAllSearchDocuments();
+
+    @Query("SELECT new ru.practicum.shareit.item.model.ItemDetailRow(i, last, next, s.commentCount, " +
+            "   c.id, c.text, a.name, c.created) " +
+            "FROM Item i " +
+            "LEFT JOIN Booking last ON last.item = i AND i.owner.id = ?2 " +
+            "   AND last.status = ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "   AND last.start = (SELECT MAX(lb.start) FROM Booking lb " +
+            "       WHERE lb.item = i " +
+            "       AND lb.status = ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "       AND lb.start < ?3) " +
+            "LEFT JOIN Booking next ON next.item = i AND i.owner.id = ?2 " +
+            "   AND next.status = ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "   AND next.start = (SELECT MIN(nb.start) FROM Booking nb " +
+            "       WHERE nb.item = i " +
+            "       AND nb.status = ru.practicum.shareit.booking.model.Status.APPROVED " +
+            "       AND nb.start > ?3) " +
+            "LEFT JOIN ItemCommentStats s ON s.itemId = i.id " +
+            "LEFT JOIN Comment c ON c.item = i " +
+            "   AND c.id IN (SELECT pc.id FROM Comment pc " +
+            "       WHERE pc.item = i " +
+            "       ORDER BY pc.created DESC, pc.id DESC " +
+            "       LIMIT ?4) " +
+            "LEFT JOIN c.author a " +
+            "WHERE i.id = ?1 " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<ItemDetailRow> findItemDetail(Integer itemId, Integer userId, LocalDateTime dateTime, int commentLimit);
+
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Locale;
+
+/**
+ * Upper-cased name and description of an item as seen by {@link NgramItemSearchEngine}, with the item version
+ * it was read at.
+ */
+@Getter
+@ToString
+public class ItemSearchDocument {
+    private final Integer id;
+
+    private final String name;
+
+    private final String description;
+
+    private final boolean available;
+
+    private final Long version;
+
+    public ItemSearchDocument(Integer id, String name, String description, Boolean available, Long version) {
+        this.id = id;
+        this.name = normalize(name);
+        this.description = normalize(description);
+        this.available = Boolean.TRUE.equals(available);
+        this.version = version;
+    }
+
+    public boolean contains(String normalizedText) {
+        return name.contains(normalizedText) || description.contains(normalizedText);
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Finds available items by free text. The implementation is chosen with the {@code shareit.search.engine} property.
+ */
+public interface ItemSearchEngine {
+
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * All matches in the order of {@link #search}, read lazily. The stream must be consumed and closed
+     * inside a transaction.
+     */
+    Stream<ItemDto> stream(String text);
+
+    default void indexItem(Item item) {
+    }
+
+    default void removeItem(Integer itemId) {
+    }
+}
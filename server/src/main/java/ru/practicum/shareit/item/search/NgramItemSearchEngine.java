@@ -0,0 +1,296 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJdbcRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over the names and descriptions of available items. Trigram postings only narrow
+ * the candidates, every candidate is then checked with a substring match of the texts upper-cased by
+ * {@link String#toUpperCase(java.util.Locale)}. Results are those of the LIKE query of {@link LikeItemSearchEngine}
+ * on H2, whose UPPER works the same way, in id order. PostgreSQL upper-cases one character at a time, so there
+ * the results differ for the few characters whose upper case is longer, such as {@code ß}. Queries shorter than
+ * a trigram scan all indexed items.
+ * <p>
+ * Changes are applied after commit, and commits of concurrent edits may run their callbacks out of order, so
+ * each item keeps the version it was indexed at and older documents are ignored.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "ngram")
+public class NgramItemSearchEngine implements ItemSearchEngine, SmartInitializingSingleton {
+    private static final int GRAM_LENGTH = 3;
+    private static final long REMOVED = Long.MAX_VALUE;
+
+    private final ItemRepository itemRepository;
+    private final ItemJdbcRepository itemJdbcRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, ItemSearchDocument> documents = new HashMap<>();
+    private final Map<Integer, Long> versions = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    public NgramItemSearchEngine(ItemRepository itemRepository, ItemJdbcRepository itemJdbcRepository) {
+        this.itemRepository = itemRepository;
+        this.itemJdbcRepository = itemJdbcRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        List<ItemSearchDocument> loaded = itemRepository.findAllSearchDocuments();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            versions.clear();
+            for (ItemSearchDocument document : loaded) {
+                put(document);
+                if (document.getVersion() != null) {
+                    versions.put(document.getId(), document.getVersion());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс поиска построен: {} доступных предметов, {} триграмм", documents.size(), postings.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        List<Integer> matches = findIds(text);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Integer> ids = matches.subList(from, to);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Integer, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Matching ids are found in the index at once, the items themselves are loaded in chunks of
+     * {@link ItemJdbcRepository#FETCH_SIZE} while the stream is consumed.
+     */
+    @Override
+    public Stream<ItemDto> stream(String text) {
+        List<Integer> matches = findIds(text);
+        int chunks = (matches.size() + ItemJdbcRepository.FETCH_SIZE - 1) / ItemJdbcRepository.FETCH_SIZE;
+        return IntStream.range(0, chunks)
+                .mapToObj(chunk -> matches.subList(chunk * ItemJdbcRepository.FETCH_SIZE,
+                        Math.min((chunk + 1) * ItemJdbcRepository.FETCH_SIZE, matches.size())))
+                .flatMap(ids -> itemJdbcRepository.findAllByIdIn(ids).stream());
+    }
+
+    @Override
+    public void indexItem(Item item) {
+        ItemSearchDocument document = new ItemSearchDocument(item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), item.getVersion());
+        afterCommit(() -> update(document.getId(), document, document.getVersion()));
+    }
+
+    @Override
+    public void removeItem(Integer itemId) {
+        afterCommit(() -> update(itemId, null, REMOVED));
+    }
+
+    public List<Integer> findIds(String text) {
+        String needle = ItemSearchDocument.normalize(text);
+        if (needle.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            List<Integer> result = new ArrayList<>();
+            for (int id : candidates(needle)) {
+                if (documents.get(id).contains(needle)) {
+                    result.add(id);
+                }
+            }
+            Collections.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidates(String needle) {
+        if (needle.length() < GRAM_LENGTH) {
+            return documents.keySet().stream().mapToInt(Integer::intValue).toArray();
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (long gram : grams(needle)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+        Postings smallest = lists.get(0);
+        int[] result = new int[smallest.size()];
+        int count = 0;
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            boolean everywhere = true;
+            for (int j = 1; j < lists.size() && everywhere; j++) {
+                everywhere = lists.get(j).contains(id);
+            }
+            if (everywhere) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void update(Integer itemId, ItemSearchDocument document, Long version) {
+        lock.writeLock().lock();
+        try {
+            Long indexed = versions.get(itemId);
+            if (indexed != null && version != null && version < indexed) {
+                log.debug("Пропущено устаревшее обновление предмета {}: версия {}, в индексе {}",
+                        itemId, version, indexed);
+                return;
+            }
+            if (version != null) {
+                versions.put(itemId, version);
+            }
+            ItemSearchDocument previous = documents.remove(itemId);
+            if (previous != null) {
+                for (long gram : grams(previous)) {
+                    Postings list = postings.get(gram);
+                    list.remove(itemId);
+                    if (list.size() == 0) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+            if (document != null) {
+                put(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(ItemSearchDocument document) {
+        if (!document.isAvailable()) {
+            return;
+        }
+        documents.put(document.getId(), document);
+        for (long gram : grams(document)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(document.getId());
+        }
+    }
+
+    private static Set<Long> grams(ItemSearchDocument document) {
+        Set<Long> grams = grams(document.getName());
+        grams.addAll(grams(document.getDescription()));
+        return grams;
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Sorted set of item ids backed by a growable int array.
+     */
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+}
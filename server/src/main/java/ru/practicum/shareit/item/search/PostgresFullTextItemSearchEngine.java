@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJdbcRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Searches the {@code items.search_vector} column (see db/migration/postgresql/V3__add_item_search_vector.sql)
+ * with prefix matching and orders results by relevance, so the sort of the requested page is ignored. Words
+ * are matched by prefix, not by arbitrary substring.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres-fts")
+public class PostgresFullTextItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+    private final ItemJdbcRepository itemJdbcRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemRepository.searchFullText(query,
+                new OffsetPageable(pageable.getOffset(), pageable.getPageSize(), Sort.unsorted()));
+    }
+
+    @Override
+    public Stream<ItemDto> stream(String text) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return Stream.empty();
+        }
+        return itemJdbcRepository.streamFullTextSearch(query);
+    }
+
+    public static String toPrefixQuery(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
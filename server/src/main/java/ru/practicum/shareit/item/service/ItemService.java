@@ -6,18 +6,27 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOutputDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
     ItemDto addItem(Integer userId, ItemDto itemDto);
 
-    ItemDto editItem(Integer userId, Integer itemId, ItemDto itemDto);
+    ItemDto editItem(Integer userId, Integer itemId, ItemDto itemDto, String ifMatch);
 
     ItemDto getItem(Integer itemId);
 
-    List<ItemDto> getItemsOfUser(Integer userId);
+    List<ItemOutputDto> getItemsOfUser(Integer userId, Integer from, Integer size);
 
-    List<ItemDto> search(String searchQuery);
+    List<ItemDto> search(String searchQuery, Integer from, Integer size);
+
+    void streamSearch(String searchQuery, OutputStream outputStream) throws IOException;
+
+    List<ItemDto> searchAvailable(String searchQuery, LocalDateTime from, LocalDateTime to, Integer offset,
+                                 Integer size);
 
     void deleteItem(Integer ownerId, Integer itemId);
 
@@ -25,6 +34,10 @@ public interface ItemService {
 
     ItemOutputDto addBookingInfoAndComments(Integer itemId, Integer userId);
 
+    List<CommentOutputDto> getComments(Integer itemId, Integer limit, String cursor);
+
     List<Item> getByRequestId(Integer requestId);
 
+    List<Item> getByRequestIds(Collection<Integer> requestIds);
+
 }
@@ -1,20 +1,35 @@
 package ru.practicum.shareit.item.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+import ru.practicum.shareit.item.model.ItemDetailRow;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemCommentStatsRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -22,16 +37,29 @@ import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int STREAM_FLUSH_INTERVAL = 100;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
@@ -40,6 +68,9 @@ public class ItemServiceImpl implements ItemService {
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ObjectMapper objectMapper;
+    private final ItemCommentStatsRepository itemCommentStatsRepository;
 
     @Override
     @Transactional
@@ -53,19 +84,25 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new NotFoundException(String.format("В базе нет запроса c id: %s", requestId)));
             item.setRequest(request);
         }
-        log.info("Добавлен предмет: {}", item);
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemCommentStatsRepository.save(ItemCommentStats.empty(saved.getId()));
+        itemSearchEngine.indexItem(saved);
+        log.info("Добавлен предмет: {}", saved);
+        return itemMapper.toItemDto(saved);
     }
 
     @Override
     @Transactional
-    public ItemDto editItem(Integer userId, Integer itemId, ItemDto itemDto) {
+    public ItemDto editItem(Integer userId, Integer itemId, ItemDto itemDto, String ifMatch) {
         userService.getUserById(userId);
         Item existingItem = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Предмет с id " + itemId + " не найден"));
         if (!existingItem.getOwner().getId().equals(userId)) {
             throw new AccessDeniedException("Попытка несанкционированного доступа");
         }
+        if (ifMatch != null) {
+            EntityTags.checkIfMatch(ifMatch, EntityTags.of(addBookingInfoAndComments(itemId, userId)));
+        }
         if (itemDto.getName() != null) {
             existingItem.setName(itemDto.getName());
         }
@@ -75,7 +112,8 @@ public class ItemServiceImpl implements ItemService {
         if (itemDto.getAvailable() != null) {
             existingItem.setAvailable(itemDto.getAvailable());
         }
-        itemRepository.save(existingItem);
+        itemRepository.saveAndFlush(existingItem);
+        itemSearchEngine.indexItem(existingItem);
         log.info("Обновлен предмет: {}", existingItem);
         return itemMapper.toItemDto(existingItem);
     }
@@ -88,19 +126,85 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> getItemsOfUser(Integer userId) {
+    public List<ItemOutputDto> getItemsOfUser(Integer userId, Integer from, Integer size) {
         userService.getUserById(userId);
-        return itemRepository.findByOwnerId(userId).stream()
-                .map(itemMapper::toItemDto)
+        List<Item> items = itemRepository.findByOwnerId(userId, Pagination.offsetPage(from, size, Sort.by("id")));
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Integer> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime currentTime = LocalDateTime.now();
+        Map<Integer, List<Booking>> bookingsByItem = bookingRepository
+                .findLastAndNextApprovedByItemIdIn(itemIds, currentTime).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Map<Integer, ItemCommentStats> statsByItem = findCommentStats(itemIds);
+        Map<Integer, CommentOutputDto> previewComments = findPreviewComments(statsByItem.values());
+        return items.stream()
+                .map(item -> {
+                    ItemOutputDto itemOutputDto = ItemMapper.toItemOutputDto(item);
+                    for (Booking booking : bookingsByItem.getOrDefault(item.getId(), Collections.emptyList())) {
+                        if (booking.getStart().isBefore(currentTime)) {
+                            itemOutputDto.setLastBooking(BookingMapper.toBookingShortDto(booking));
+                        } else {
+                            itemOutputDto.setNextBooking(BookingMapper.toBookingShortDto(booking));
+                        }
+                    }
+                    ItemCommentStats stats = statsByItem.get(item.getId());
+                    List<CommentOutputDto> preview = new ArrayList<>();
+                    for (Integer commentId : stats.getRecentCommentIds()) {
+                        CommentOutputDto comment = previewComments.get(commentId);
+                        if (comment != null) {
+                            preview.add(comment);
+                        }
+                    }
+                    itemOutputDto.setComments(preview);
+                    itemOutputDto.setCommentCount(stats.getCommentCount());
+                    return itemOutputDto;
+                })
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<ItemDto> search(String searchQuery) {
+    public List<ItemDto> search(String searchQuery, Integer from, Integer size) {
+        Pageable page = Pagination.boundedPage(from, size, Sort.by("id"));
         if (searchQuery.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.search(searchQuery).stream()
+        return itemSearchEngine.search(searchQuery, page).stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void streamSearch(String searchQuery, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            if (!searchQuery.isBlank()) {
+                try (Stream<ItemDto> items = itemSearchEngine.stream(searchQuery)) {
+                    Iterator<ItemDto> iterator = items.iterator();
+                    for (int written = 1; iterator.hasNext(); written++) {
+                        generator.writeObject(iterator.next());
+                        if (written % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    }
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    public List<ItemDto> searchAvailable(String searchQuery, LocalDateTime from, LocalDateTime to, Integer offset,
+                                         Integer size) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+        Pageable page = Pagination.boundedPage(offset, size, Sort.by("id"));
+        return itemRepository.searchAvailable(LikeItemSearchEngine.escape(searchQuery.trim()), from, to,
+                        BookingIntervalIndex.BLOCKING_STATUSES, page).stream()
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
@@ -116,6 +220,7 @@ public class ItemServiceImpl implements ItemService {
             );
         }
         itemRepository.deleteById(itemId);
+        itemSearchEngine.removeItem(itemId);
         log.info("Удален предмет с id: {} у пользователя с id: {}", itemId, ownerId);
     }
 
@@ -129,47 +234,102 @@ public class ItemServiceImpl implements ItemService {
         bookingRepository.findFirstByItemIdAndBookerIdAndStatusAndEndBefore(
                         itemId, userId, Status.APPROVED, LocalDateTime.now())
                 .orElseThrow(() -> new ValidationException("Пользователь " + userId + " не бронировал этот предмет"));
+        ItemCommentStats stats = itemCommentStatsRepository.findForUpdate(itemId)
+                .orElseGet(() -> createCommentStats(itemId));
         Comment comment = CommentMapper.toComment(commentDto);
-        comment.setCreated(LocalDateTime.now());
+        comment.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         comment.setItem(item);
         comment.setAuthor(user);
-        log.info("Добавлен комментарий: {}", comment);
-        return CommentMapper.toCommentOutputDto(commentRepository.save(comment));
+        Comment saved = commentRepository.save(comment);
+        stats.register(saved);
+        itemCommentStatsRepository.save(stats);
+        log.info("Добавлен комментарий: {}", saved);
+        return CommentMapper.toCommentOutputDto(saved);
     }
 
     @Override
-    @Transactional
     public ItemOutputDto addBookingInfoAndComments(Integer itemId, Integer userId) {
         log.info("Обработка запроса: itemId={}, userId={}", itemId, userId);
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Предмет не найден: " + itemId));
-        ItemOutputDto itemOutputDto = ItemMapper.toItemOutputDto(item);
-        LocalDateTime currentTime = LocalDateTime.now();
-        if (item.getOwner() != null && item.getOwner().getId().equals(userId)) {
-            log.info("Пользователь {} является владельцем предмета {}", userId, itemId);
-            bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(itemId, Status.APPROVED, currentTime)
-                    .ifPresent(booking -> {
-                        itemOutputDto.setLastBooking(BookingMapper.toBookingShortDto(booking));
-                        log.info("Нашел предыдущее бронирование {}", booking);
-                    });
-
-            bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(itemId, Status.APPROVED, currentTime)
-                    .ifPresent(booking -> {
-                        itemOutputDto.setNextBooking(BookingMapper.toBookingShortDto(booking));
-                        log.info("Наше следующее бронирование: {}", booking);
-                    });
-        } else {
-            log.info("Пользователь {} не является собственником предмета {}", userId, itemId);
+        List<ItemDetailRow> rows = itemRepository.findItemDetail(itemId, userId, LocalDateTime.now(),
+                Pagination.DEFAULT_PAGE_SIZE);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Предмет не найден: " + itemId);
         }
-        List<Comment> comments = commentRepository.findAllByItemId(itemId);
-        if (!comments.isEmpty()) {
-            itemOutputDto.setComments(CommentMapper.toCommentOutDtoList(comments));
-            log.info("Найдено {} комментариев", comments.size());
+        ItemDetailRow first = rows.get(0);
+        ItemOutputDto itemOutputDto = ItemMapper.toItemOutputDto(first.getItem());
+        if (first.getLastBooking() != null) {
+            itemOutputDto.setLastBooking(BookingMapper.toBookingShortDto(first.getLastBooking()));
+        }
+        if (first.getNextBooking() != null) {
+            itemOutputDto.setNextBooking(BookingMapper.toBookingShortDto(first.getNextBooking()));
+        }
+        Map<Integer, CommentOutputDto> comments = new LinkedHashMap<>();
+        for (ItemDetailRow row : rows) {
+            if (row.getCommentId() != null) {
+                comments.putIfAbsent(row.getCommentId(), CommentMapper.toCommentOutputDto(row));
+            }
+        }
+        itemOutputDto.setComments(new ArrayList<>(comments.values()));
+        itemOutputDto.setCommentCount(first.getCommentCount() == null ? comments.size() : first.getCommentCount());
+        log.info("Найдено {} комментариев", comments.size());
+        return itemOutputDto;
+    }
+
+    @Override
+    public List<CommentOutputDto> getComments(Integer itemId, Integer limit, String cursor) {
+        Limit pageLimit = Limit.of(Pagination.pageSize(limit));
+        List<CommentOutputDto> comments;
+        if (cursor == null) {
+            comments = commentRepository.findNewestByItemId(itemId, pageLimit);
         } else {
-            itemOutputDto.setComments(Collections.emptyList());
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findNewestByItemIdBefore(itemId, after.getTimestamp(), after.getId(),
+                    pageLimit);
+        }
+        if (comments.isEmpty() && !itemRepository.existsById(itemId)) {
+            throw new NotFoundException("Предмет не найден: " + itemId);
         }
+        return comments;
+    }
 
-        return itemOutputDto;
+    /**
+     * Stats rows are created together with the item; a missing one is rebuilt under the item row lock, so
+     * concurrent comments wait for the first insert instead of inserting the same row twice.
+     */
+    private ItemCommentStats createCommentStats(Integer itemId) {
+        itemRepository.findForUpdate(itemId);
+        return itemCommentStatsRepository.findForUpdate(itemId)
+                .orElseGet(() -> itemCommentStatsRepository.saveAndFlush(ItemCommentStats.of(itemId,
+                        commentRepository.findAllWithAuthorByItemIdIn(List.of(itemId)))));
+    }
+
+    private Map<Integer, ItemCommentStats> findCommentStats(List<Integer> itemIds) {
+        Map<Integer, ItemCommentStats> statsByItem = itemCommentStatsRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.toMap(ItemCommentStats::getItemId, Function.identity()));
+        List<Integer> missing = itemIds.stream()
+                .filter(itemId -> !statsByItem.containsKey(itemId))
+                .toList();
+        if (!missing.isEmpty()) {
+            log.warn("Нет статистики комментариев для предметов {}, она будет посчитана заново", missing);
+            Map<Integer, List<Comment>> commentsByItem = commentRepository.findAllWithAuthorByItemIdIn(missing).stream()
+                    .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+            for (Integer itemId : missing) {
+                statsByItem.put(itemId, ItemCommentStats.of(itemId,
+                        commentsByItem.getOrDefault(itemId, Collections.emptyList())));
+            }
+        }
+        return statsByItem;
+    }
+
+    private Map<Integer, CommentOutputDto> findPreviewComments(Collection<ItemCommentStats> stats) {
+        Set<Integer> commentIds = stats.stream()
+                .flatMap(itemStats -> itemStats.getRecentCommentIds().stream())
+                .collect(Collectors.toSet());
+        if (commentIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return commentRepository.findAllWithAuthorByIdIn(commentIds).stream()
+                .collect(Collectors.toMap(Comment::getId, CommentMapper::toCommentOutputDto));
     }
 
     @Override
@@ -181,4 +341,12 @@ public class ItemServiceImpl implements ItemService {
         return result;
     }
 
+    @Override
+    public List<Item> getByRequestIds(Collection<Integer> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemRepository.findAllByRequestIdIn(requestIds);
+    }
+
 }
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.HeaderConstants;
+
+import java.util.List;
+import java.util.function.Function;
+
+@UtilityClass
+public class Pagination {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static boolean isRequested(Integer limit, String cursor) {
+        return limit != null || cursor != null;
+    }
+
+    public static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit <= 0) {
+            throw new ValidationException("Размер страницы должен быть положительным: " + limit);
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    public static Pageable offsetPage(Integer from, Integer size, Sort sort) {
+        if (from != null && from < 0) {
+            throw new ValidationException("Индекс первого элемента не может быть отрицательным: " + from);
+        }
+        int offset = from == null ? 0 : from;
+        if (size == null) {
+            return offset == 0 ? Pageable.unpaged(sort) : new OffsetPageable(offset, Integer.MAX_VALUE, sort);
+        }
+        return new OffsetPageable(offset, pageSize(size), sort);
+    }
+
+    public static Pageable boundedPage(Integer from, Integer size, Sort sort) {
+        return offsetPage(from, pageSize(size), sort);
+    }
+
+    public static <T> ResponseEntity<List<T>> keysetPage(List<T> page, Integer limit, String cursor,
+                                                         Function<T, KeysetCursor> keyExtractor) {
+        if (!isRequested(limit, cursor)) {
+            return ResponseEntity.ok(page);
+        }
+        return boundedKeysetPage(page, limit, keyExtractor);
+    }
+
+    public static <T> ResponseEntity<List<T>> boundedKeysetPage(List<T> page, Integer limit,
+                                                                Function<T, KeysetCursor> keyExtractor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!page.isEmpty() && page.size() >= pageSize(limit)) {
+            KeysetCursor next = keyExtractor.apply(page.get(page.size() - 1));
+            response.header(HeaderConstants.NEXT_CURSOR_HEADER, next.encode());
+        }
+        return response.body(page);
+    }
+}
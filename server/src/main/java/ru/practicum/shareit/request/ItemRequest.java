@@ -31,4 +31,8 @@ public class ItemRequest {
     @Column(name = "created", nullable = false)
     private LocalDateTime created;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
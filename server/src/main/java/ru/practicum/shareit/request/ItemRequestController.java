@@ -3,8 +3,13 @@ package ru.practicum.shareit.request;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutputDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -38,13 +43,23 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestOutputDto> getAllRequestsExceptOneUser(@RequestHeader(SHARER_ID_HEADER) Integer userId) {
-        return itemRequestService.getAllRequestsExceptOneUser(userId);
+    public ResponseEntity<List<ItemRequestOutputDto>> getAllRequestsExceptOneUser(
+            @RequestHeader(SHARER_ID_HEADER) Integer userId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        List<ItemRequestOutputDto> requests = itemRequestService.getAllRequestsExceptOneUser(userId, limit, cursor);
+        return Pagination.boundedKeysetPage(requests, limit,
+                request -> new KeysetCursor(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{requestId}")
     public ItemRequestOutputDto getRequest(@RequestHeader(SHARER_ID_HEADER) Integer userId,
-                                           @Positive @PathVariable("requestId") Integer requestId) {
-        return itemRequestService.getRequest(userId, requestId);
+                                           @Positive @PathVariable("requestId") Integer requestId,
+                                           WebRequest webRequest) {
+        ItemRequestOutputDto request = itemRequestService.getRequest(userId, requestId);
+        if (webRequest.checkNotModified(EntityTags.of(request))) {
+            return null;
+        }
+        return request;
     }
 }
@@ -20,6 +20,7 @@ public class ItemRequestMapper {
                 .description(itemRequest.getDescription())
                 .created(itemRequest.getCreated())
                 .items(Collections.emptyList())
+                .version(itemRequest.getVersion())
                 .build();
     }
 
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.request.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.time.LocalDateTime;
@@ -24,4 +26,8 @@ public class ItemRequestOutputDto {
     private LocalDateTime created;
 
     private List<ItemDto> items;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -1,13 +1,25 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
 
     List<ItemRequest> findByRequesterIdOrderByCreatedAsc(Integer requesterId);
 
-    List<ItemRequest> findByRequesterIdNotOrderByCreatedAsc(Integer userId);
-}
\ No newline at end of file
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.requester.id <> ?1 " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findNewestByRequesterIdNot(Integer userId, Limit limit);
+
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.requester.id <> ?1 " +
+            "AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequest> findNewestByRequesterIdNotBefore(Integer userId, LocalDateTime created, Integer id, Limit limit);
+}
@@ -12,7 +12,7 @@ public interface ItemRequestService {
 
     List<ItemRequestOutputDto> getUserRequests(Integer userId);
 
-    List<ItemRequestOutputDto> getAllRequestsExceptOneUser(Integer userId);
+    List<ItemRequestOutputDto> getAllRequestsExceptOneUser(Integer userId, Integer limit, String cursor);
 
     ItemRequestOutputDto getRequest(Integer userId, Integer requestId);
 
@@ -2,12 +2,15 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
@@ -18,7 +21,10 @@ import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -40,7 +46,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         User user = userMapper.toUser(userService.getUserById(userId));
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto);
         itemRequest.setRequester(user);
-        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         try {
             itemRequest = itemRequestRepository.save(itemRequest);
             log.info("Запрос успешно сохранен в базу данных: {}", itemRequest);
@@ -55,17 +61,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestOutputDto> getUserRequests(Integer userId) {
         userService.getUserById(userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findByRequesterIdOrderByCreatedAsc(userId);
-        return itemRequests.stream()
-                .map(this::toItemRequestOutputDtoWithItems)
-                .collect(Collectors.toList());
+        return toItemRequestOutputDtosWithItems(itemRequests);
     }
 
     @Override
-    public List<ItemRequestOutputDto> getAllRequestsExceptOneUser(Integer userId) {
+    public List<ItemRequestOutputDto> getAllRequestsExceptOneUser(Integer userId, Integer limit, String cursor) {
         userService.getUserById(userId);
-        return itemRequestRepository.findByRequesterIdNotOrderByCreatedAsc(userId).stream()
-                .map(this::toItemRequestOutputDtoWithItems)
-                .collect(Collectors.toList());
+        Limit pageLimit = Limit.of(Pagination.pageSize(limit));
+        List<ItemRequest> itemRequests;
+        if (cursor == null) {
+            itemRequests = itemRequestRepository.findNewestByRequesterIdNot(userId, pageLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            itemRequests = itemRequestRepository.findNewestByRequesterIdNotBefore(userId, after.getTimestamp(),
+                    after.getId(), pageLimit);
+        }
+        return toItemRequestOutputDtosWithItems(itemRequests);
     }
 
     @Override
@@ -86,4 +97,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return dto;
     }
 
+    private List<ItemRequestOutputDto> toItemRequestOutputDtosWithItems(List<ItemRequest> itemRequests) {
+        List<Integer> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .toList();
+        Map<Integer, List<ItemDto>> itemsByRequestId = itemService.getByRequestIds(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemMapper::toItemDto, Collectors.toList())));
+        log.debug("Вещи найдены для {} из {} запросов", itemsByRequestId.size(), itemRequests.size());
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestOutputDto dto = ItemRequestMapper.toItemRequestOutDto(itemRequest);
+                    dto.setItems(itemsByRequestId.getOrDefault(itemRequest.getId(), Collections.emptyList()));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
 }
@@ -24,4 +24,8 @@ public class User {
     @Email
     @Column(name = "email", nullable = false, unique = true, length = 512)
     private String email;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
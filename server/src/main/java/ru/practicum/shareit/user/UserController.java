@@ -3,7 +3,10 @@ package ru.practicum.shareit.user;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -22,8 +25,9 @@ public class UserController {
     }
 
     @PatchMapping("/{userId}")
-    public UserDto updateUser(@Valid @RequestBody UserDto userDto, @PathVariable Integer userId) {
-        return userService.updateUser(userDto, userId);
+    public UserDto updateUser(@Valid @RequestBody UserDto userDto, @PathVariable Integer userId,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return userService.updateUser(userDto, userId, ifMatch);
     }
 
     @DeleteMapping("/{userId}")
@@ -37,7 +41,11 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getUserById(@PathVariable Integer userId) {
-        return userService.getUserById(userId);
+    public UserDto getUserById(@PathVariable Integer userId, WebRequest webRequest) {
+        UserDto user = userService.getUserById(userId);
+        if (webRequest.checkNotModified(EntityTags.of(user))) {
+            return null;
+        }
+        return user;
     }
 }
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 @Data
 @Builder
@@ -10,4 +12,8 @@ public class UserDto {
     private Integer id;
     private String name;
     @Email private String email;
+
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
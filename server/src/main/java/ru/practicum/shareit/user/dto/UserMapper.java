@@ -15,6 +15,7 @@ public class UserMapper {
                 .id(user.getId())
                 .name(user.getName())
                 .email(user.getEmail())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -22,7 +23,9 @@ public class UserMapper {
         return User.builder()
                 .id(userDto.getId())
                 .name(userDto.getName())
-                .email(userDto.getEmail()).build();
+                .email(userDto.getEmail())
+                .version(userDto.getVersion())
+                .build();
     }
 
 }
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of users by id, used to validate the X-Sharer-User-Id header without reading
+ * the users table on every request. Within an HTTP request resolved users are also memoized in the
+ * request attributes, so the same user is never looked up twice per request even after eviction.
+ */
+@Slf4j
+@Component
+public class UserDirectory {
+    private static final String REQUEST_MEMO_ATTRIBUTE = UserDirectory.class.getName() + ".MEMO";
+
+    private final UserRepository userRepository;
+    private final Map<Integer, UserDto> users;
+    private final Counter hits;
+    private final Counter misses;
+    private long generation;
+
+    public UserDirectory(UserRepository userRepository, MeterRegistry meterRegistry,
+                         @Value("${shareit.users.cache-size:10000}") int capacity) {
+        this.userRepository = userRepository;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, UserDto> eldest) {
+                return super.size() > capacity;
+            }
+        };
+        this.hits = Counter.builder("shareit.users.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("shareit.users.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("shareit.users.cache.size", this, UserDirectory::size).register(meterRegistry);
+    }
+
+    public UserDto getUser(Integer userId) {
+        Map<Integer, UserDto> memo = requestMemo();
+        UserDto user = memo == null ? null : memo.get(userId);
+        if (user == null) {
+            user = lookup(userId);
+            if (memo != null) {
+                memo.put(userId, user);
+            }
+        }
+        return copy(user);
+    }
+
+    public void evict(Integer userId) {
+        remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(userId);
+                }
+            });
+        }
+    }
+
+    public synchronized int size() {
+        return users.size();
+    }
+
+    private UserDto lookup(Integer userId) {
+        long loadedAt;
+        synchronized (this) {
+            UserDto cached = users.get(userId);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            loadedAt = generation;
+        }
+        misses.increment();
+        UserDto loaded = userRepository.findById(userId)
+                .map(UserMapper::toUserDto)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден."));
+        synchronized (this) {
+            if (loadedAt == generation) {
+                users.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private void remove(Integer userId) {
+        synchronized (this) {
+            users.remove(userId);
+            generation++;
+        }
+        Map<Integer, UserDto> memo = requestMemo();
+        if (memo != null) {
+            memo.remove(userId);
+        }
+        log.debug("Пользователь с id {} удален из кэша", userId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, UserDto> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Integer, UserDto> memo = (Map<Integer, UserDto>) attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private static UserDto copy(UserDto user) {
+        return UserDto.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .version(user.getVersion())
+                .build();
+    }
+}
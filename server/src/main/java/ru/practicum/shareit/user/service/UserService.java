@@ -7,7 +7,7 @@ import java.util.List;
 public interface UserService {
     UserDto addUser(UserDto userDto);
 
-    UserDto updateUser(UserDto userDto, Integer userId);
+    UserDto updateUser(UserDto userDto, Integer userId, String ifMatch);
 
     UserDto deleteUser(Integer userId);
 
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -22,6 +23,7 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserDirectory userDirectory;
 
     @Override
     @Transactional
@@ -43,9 +45,10 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
-    public UserDto updateUser(UserDto userDto, Integer userId) {
+    public UserDto updateUser(UserDto userDto, Integer userId, String ifMatch) {
         User oldUser = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден."));
+        EntityTags.checkIfMatch(ifMatch, EntityTags.of(UserMapper.toUserDto(oldUser)));
 
         if (userDto.getEmail() != null && !userDto.getEmail().equals(oldUser.getEmail())) {
             checkEmail(userDto.getEmail(), userId);
@@ -58,7 +61,8 @@ public class UserServiceImpl implements UserService {
 
         log.debug("Пользователь с id {} успешно обновлен", userId);
 
-        userRepository.save(oldUser);
+        userRepository.saveAndFlush(oldUser);
+        userDirectory.evict(userId);
         return UserMapper.toUserDto(oldUser);
     }
 
@@ -67,6 +71,7 @@ public class UserServiceImpl implements UserService {
     public UserDto deleteUser(Integer userId) {
         UserDto userDto = getUserById(userId);
         userRepository.deleteById(userId);
+        userDirectory.evict(userId);
         log.info("Удален пользователь с id {} ", userId);
         return userDto;
     }
@@ -81,9 +86,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto getUserById(Integer userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден."));
-        return UserMapper.toUserDto(user);
+        return userDirectory.getUser(userId);
     }
 
     private void checkEmail(String email, Integer userId) {
@@ -0,0 +1,3 @@
+DROP INDEX IF EXISTS idx_requests_created;
+
+CREATE INDEX IF NOT EXISTS idx_requests_created_id ON requests (created DESC, id DESC);
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS item_comment_stats (
+    item_id BIGINT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    comment_count INTEGER NOT NULL DEFAULT 0,
+    last_comment_at TIMESTAMP WITHOUT TIME ZONE,
+    recent_comment_ids VARCHAR(255),
+    CONSTRAINT pk_item_comment_stats PRIMARY KEY (item_id)
+);
+
+INSERT INTO item_comment_stats (item_id, comment_count, last_comment_at)
+SELECT i.id, COUNT(c.id), MAX(c.created)
+FROM items i
+LEFT JOIN comments c ON c.item_id = i.id
+GROUP BY i.id;
@@ -0,0 +1,10 @@
+UPDATE item_comment_stats s
+SET recent_comment_ids = (SELECT LISTAGG(CAST(ranked.id AS VARCHAR), ',') WITHIN GROUP (ORDER BY ranked.position)
+                          FROM (SELECT c.id, c.item_id,
+                                       ROW_NUMBER() OVER (PARTITION BY c.item_id
+                                           ORDER BY c.created DESC, c.id DESC) AS position
+                                FROM comments c) ranked
+                          WHERE ranked.item_id = s.item_id
+                            AND ranked.position <= 5)
+WHERE s.recent_comment_ids IS NULL
+  AND EXISTS (SELECT 1 FROM comments c WHERE c.item_id = s.item_id);
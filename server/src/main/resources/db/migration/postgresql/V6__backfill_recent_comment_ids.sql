@@ -0,0 +1,9 @@
+UPDATE item_comment_stats s
+SET recent_comment_ids = recent.ids
+FROM (SELECT ranked.item_id, string_agg(ranked.id::text, ',' ORDER BY ranked.position) AS ids
+      FROM (SELECT c.id, c.item_id,
+                   ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.id DESC) AS position
+            FROM comments c) ranked
+      WHERE ranked.position <= 5
+      GROUP BY ranked.item_id) recent
+WHERE s.item_id = recent.item_id;
@@ -0,0 +1,37 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The check on the H2 database of the other tests, whose EXPLAIN marks a full read with {@code tableScan}.
+ */
+@SpringBootTest
+class H2QueryPlanTests extends QueryPlanTests {
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+
+    @Override
+    protected String explain(String sql) {
+        return "EXPLAIN " + sql;
+    }
+
+    @Override
+    protected List<String> tableScans(PreparedStatement statement) throws Exception {
+        String plan;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            plan = plan(resultSet);
+        }
+        List<String> tables = new ArrayList<>();
+        Matcher matcher = TABLE_SCAN.matcher(plan);
+        while (matcher.find()) {
+            tables.add(matcher.group(1));
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL for tests of the vendor-specific migrations, queries and plans. The server is the one given by the
+ * {@code test.postgres.url} system property (with {@code test.postgres.username} and {@code test.postgres.password}),
+ * otherwise a Testcontainers container. Every Spring context gets a database of its own on it, migrated by
+ * Flyway with the postgresql migrations. Test classes extended with this condition are skipped when there is
+ * neither a server nor Docker.
+ */
+public class PostgresDatabase implements ExecutionCondition {
+    private static final String URL_PROPERTY = "test.postgres.url";
+    private static final List<String> CREATED = new ArrayList<>();
+
+    private static PostgreSQLContainer<?> container;
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (System.getProperty(URL_PROPERTY) != null) {
+            return ConditionEvaluationResult.enabled("PostgreSQL: " + System.getProperty(URL_PROPERTY));
+        }
+        if (DockerClientFactory.instance().isDockerAvailable()) {
+            return ConditionEvaluationResult.enabled("PostgreSQL в Testcontainers");
+        }
+        return ConditionEvaluationResult.disabled("Нет PostgreSQL: задайте -D" + URL_PROPERTY + " или запустите Docker");
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        Server server = server();
+        String url = server.createDatabase();
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", server::username);
+        registry.add("spring.datasource.password", server::password);
+    }
+
+    private static synchronized Server server() {
+        String url = System.getProperty(URL_PROPERTY);
+        if (url != null) {
+            return new Server(url, System.getProperty("test.postgres.username", "postgres"),
+                    System.getProperty("test.postgres.password", ""));
+        }
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return new Server(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    private record Server(String url, String username, String password) {
+
+        String createDatabase() {
+            String database = "shareit_" + UUID.randomUUID().toString().replace("-", "");
+            execute("CREATE DATABASE " + database);
+            synchronized (CREATED) {
+                if (CREATED.isEmpty()) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(this::dropDatabases));
+                }
+                CREATED.add(database);
+            }
+            return url.replaceFirst("^(jdbc:postgresql://[^/?]+)/[^?]*", "$1/" + database);
+        }
+
+        void dropDatabases() {
+            synchronized (CREATED) {
+                for (String database : CREATED) {
+                    execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+                }
+            }
+        }
+
+        private void execute(String sql) {
+            try (Connection connection = DriverManager.getConnection(url, username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Не удалось выполнить " + sql + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.item.search.PostgresFullTextItemSearchEngine;
+import ru.practicum.shareit.pagination.OffsetPageable;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The same check on PostgreSQL with {@code EXPLAIN (FORMAT JSON)}, rejecting every {@code Seq Scan}. On a
+ * dataset small enough for a test the planner rightly prefers reading a table in full, or hashing all of it
+ * into a join, to an index, so plans are taken with sequential scans, hash and merge joins switched off: a
+ * sequential scan left in a plan means that no index can serve that table. Adds the full-text search,
+ * which must go through the GIN index.
+ */
+@ExtendWith(PostgresDatabase.class)
+@SpringBootTest
+class PostgresQueryPlanTests extends QueryPlanTests {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void analyzeAndDisableFullReads() {
+        jdbcTemplate.execute("ANALYZE");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_hashjoin = off");
+        jdbcTemplate.execute("SET LOCAL enable_mergejoin = off");
+    }
+
+    @Override
+    protected String explain(String sql) {
+        return "EXPLAIN (FORMAT JSON) " + sql;
+    }
+
+    @Override
+    protected void addVendorQueries(Map<String, Runnable> queries) {
+        String tsQuery = PostgresFullTextItemSearchEngine.toPrefixQuery(SEARCH_TEXT);
+        queries.put("full-text search", () -> itemRepository.searchFullText(tsQuery,
+                new OffsetPageable(0, 20, Sort.unsorted())));
+        queries.put("streamed full-text search", () -> itemJdbcRepository.streamFullTextSearch(tsQuery).close());
+    }
+
+    @Override
+    protected List<String> tableScans(PreparedStatement statement) throws Exception {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            List<String> tables = new ArrayList<>();
+            collectSeqScans(MAPPER.readTree(plan(resultSet)).path(0).path("Plan"), tables);
+            return tables;
+        }
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> tables) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, tables);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.dataset.Dataset;
+import ru.practicum.shareit.dataset.DatasetGenerator;
+import ru.practicum.shareit.dataset.DatasetSpec;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemCommentStatsRepository;
+import ru.practicum.shareit.item.repository.ItemJdbcRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every repository query against a generated dataset and checks with EXPLAIN, bound to the parameters
+ * the query was actually executed with, that no table is read with a full scan. Parameters are the heaviest
+ * owner, booker and item; {@code -Ddataset.scale} grows the dataset up to millions of rows. Subclasses explain
+ * the statements in the dialect of their database and may add the queries only it can run.
+ *
+ * <p>The LIKE searches and the load of the in-memory search index read the items table on purpose, a
+ * substring match cannot use a B-tree index; they are listed so that any other table they scan, or a scan
+ * in any other query, still fails.
+ */
+@Transactional
+@Import(RecordingDataSource.class)
+abstract class QueryPlanTests {
+    protected static final String SEARCH_TEXT = "дрел";
+    private static final DatasetSpec SPEC = DatasetSpec.fromSystemProperties(0.002);
+    private static final LocalDateTime NOW = SPEC.anchor();
+
+    private static final Map<String, Set<String>> SCANS_BY_DESIGN = Map.of(
+            "search, like", Set.of("items"),
+            "streamed search, like", Set.of("items"),
+            "available items search", Set.of("items"),
+            "search index documents", Set.of("items"));
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    protected ItemRepository itemRepository;
+    @Autowired
+    protected ItemJdbcRepository itemJdbcRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemCommentStatsRepository itemCommentStatsRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Dataset dataset;
+    private String ownerEmail;
+
+    @BeforeEach
+    void setUp() {
+        dataset = jdbcTemplate.execute((ConnectionCallback<Dataset>) connection ->
+                new DatasetGenerator(SPEC).generate(connection));
+        ownerEmail = jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class,
+                dataset.topOwnerId());
+        // no ANALYZE here: H2 commits the open transaction on it, which would leave the dataset to other tests
+    }
+
+    /**
+     * Tables read in full by the plan that the EXPLAIN {@code statement}, with its parameters bound, returns.
+     */
+    protected abstract List<String> tableScans(PreparedStatement statement) throws Exception;
+
+    protected abstract String explain(String sql);
+
+    protected void addVendorQueries(Map<String, Runnable> queries) {
+    }
+
+    @Test
+    void repositoryQueriesUseIndexesTesting() {
+        int owner = dataset.topOwnerId();
+        int booker = dataset.topBookerId();
+        int item = dataset.topItemId();
+        int request = dataset.answeredRequestId();
+        String escaped = LikeItemSearchEngine.escape(SEARCH_TEXT);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        for (State state : State.values()) {
+            queries.put("bookings of booker, " + state, () -> bookingRepository.findAll(
+                    BookingSpecifications.withItemAndBooker()
+                            .and(BookingSpecifications.bookerIs(booker))
+                            .and(BookingSpecifications.inState(state, NOW)),
+                    BookingSpecifications.sortFor(state)));
+            queries.put("bookings of owner, " + state, () -> bookingRepository.findAll(
+                    BookingSpecifications.withItemAndBooker()
+                            .and(BookingSpecifications.itemOwnerIs(owner))
+                            .and(BookingSpecifications.inState(state, NOW)),
+                    BookingSpecifications.sortFor(state)));
+        }
+        queries.put("keyset page of booker", () -> bookingRepository.findBy(
+                BookingSpecifications.withItemAndBooker()
+                        .and(BookingSpecifications.bookerIs(booker))
+                        .and(BookingSpecifications.after(new KeysetCursor(NOW, Integer.MAX_VALUE), Sort.Direction.DESC)),
+                query -> query.sortBy(BookingSpecifications.sortFor(State.ALL)).limit(10).all()));
+        queries.put("last and next bookings", () -> bookingRepository.findLastAndNextApprovedByItemIdIn(
+                List.of(item), NOW));
+        queries.put("finished booking of booker", () -> bookingRepository.findFirstByItemIdAndBookerIdAndStatusAndEndBefore(
+                item, booker, Status.APPROVED, NOW));
+        queries.put("blocking booking slots", () -> bookingRepository.findSlotsByStatusInAndEndAfter(
+                List.of(Status.WAITING), NOW));
+        queries.put("items of owner", () -> itemRepository.findByOwnerId(owner, PageRequest.of(0, 10,
+                Sort.by("id"))));
+        queries.put("items of request", () -> itemRepository.findAllByRequestId(request));
+        queries.put("items of requests", () -> itemRepository.findAllByRequestIdIn(List.of(request)));
+        queries.put("item detail", () -> itemRepository.findItemDetail(item, owner, NOW, 20));
+        queries.put("search, like", () -> itemRepository.search(escaped, PageRequest.of(0, 20, Sort.by("id"))));
+        queries.put("streamed search, like", () -> consume(itemJdbcRepository.streamSearch(escaped)));
+        queries.put("available items search", () -> itemRepository.searchAvailable(escaped, NOW.plusDays(1),
+                NOW.plusDays(2), BookingIntervalIndex.BLOCKING_STATUSES, PageRequest.of(0, 20, Sort.by("id"))));
+        queries.put("search index documents", () -> itemRepository.findAllSearchDocuments());
+        queries.put("items by ids", () -> itemJdbcRepository.findAllByIdIn(List.of(item)));
+        queries.put("comments of items", () -> commentRepository.findAllWithAuthorByItemIdIn(List.of(item)));
+        queries.put("comment stats of items", () -> itemCommentStatsRepository.findAllByItemIdIn(
+                List.of(item)));
+        queries.put("comment stats for update", () -> itemCommentStatsRepository.findForUpdate(item));
+        queries.put("comments page", () -> commentRepository.findNewestByItemId(item, Limit.of(20)));
+        queries.put("comments page after cursor", () -> commentRepository.findNewestByItemIdBefore(item,
+                NOW, Integer.MAX_VALUE, Limit.of(20)));
+        queries.put("preview comments", () -> commentRepository.findAllWithAuthorByIdIn(List.of(1, 2, 3)));
+        queries.put("requests of requester", () -> itemRequestRepository.findByRequesterIdOrderByCreatedAsc(
+                owner));
+        queries.put("requests feed", () -> itemRequestRepository.findNewestByRequesterIdNot(owner,
+                Limit.of(20)));
+        queries.put("requests feed after cursor", () -> itemRequestRepository.findNewestByRequesterIdNotBefore(
+                owner, NOW.minusHours(10), Integer.MAX_VALUE, Limit.of(20)));
+        queries.put("user by email", () -> userRepository.findByEmail(ownerEmail));
+        queries.put("email taken by another user", () -> userRepository.existsByEmailAndIdNot(
+                ownerEmail, booker));
+        addVendorQueries(queries);
+
+        Map<String, List<String>> scans = new LinkedHashMap<>();
+        queries.forEach((name, query) -> {
+            RecordingDataSource.start();
+            query.run();
+            List<RecordingDataSource.Recorded> statements = RecordingDataSource.stop();
+            assertFalse(statements.isEmpty(), "Запрос не выполнил SQL: " + name);
+            for (RecordingDataSource.Recorded statement : statements) {
+                List<String> scannedTables = new ArrayList<>(tableScans(statement));
+                scannedTables.removeAll(SCANS_BY_DESIGN.getOrDefault(name, Set.of()));
+                if (!scannedTables.isEmpty()) {
+                    scans.put(name, scannedTables);
+                }
+            }
+        });
+
+        assertTrue(scans.isEmpty(), "Запросы читают таблицы целиком: " + scans);
+    }
+
+    private List<String> tableScans(RecordingDataSource.Recorded recorded) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(explain(recorded.sql()))) {
+                recorded.bind(statement);
+                return tableScans(statement).stream()
+                        .map(table -> table.toLowerCase(Locale.ROOT))
+                        .toList();
+            } catch (Exception e) {
+                throw new IllegalStateException("Не удалось получить план " + recorded.sql(), e);
+            }
+        });
+    }
+
+    protected static String plan(ResultSet resultSet) throws Exception {
+        StringBuilder text = new StringBuilder();
+        while (resultSet.next()) {
+            text.append(resultSet.getString(1));
+        }
+        return text.toString();
+    }
+
+    private static long consume(Stream<ItemDto> items) {
+        try (items) {
+            return items.count();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remembers the statements prepared on the current thread while recording is switched on, together with
+ * the parameters bound to them, whether Hibernate or a {@code JdbcTemplate} prepared them. Registered as a
+ * bean post-processor, it wraps the application data source.
+ */
+public class RecordingDataSource implements BeanPostProcessor {
+    private static final ThreadLocal<List<Recorded>> RECORDED = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    public static List<Recorded> stop() {
+        List<Recorded> statements = RECORDED.get();
+        RECORDED.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recording(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return recording(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static Connection recording(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            List<Recorded> statements = RECORDED.get();
+            if (statements == null || !method.getName().equals("prepareStatement")) {
+                return result;
+            }
+            Recorded recorded = new Recorded((String) args[0], new ArrayList<>());
+            statements.add(recorded);
+            return proxy(PreparedStatement.class, result, (setter, values, ignored) -> {
+                if (setter.getName().startsWith("set") && values != null && values.length >= 2
+                        && values[0] instanceof Integer) {
+                    recorded.bindings().add(new Binding(setter, values.clone()));
+                }
+                return ignored;
+            });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Interceptor interceptor) {
+        return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    try {
+                        return interceptor.after(method, args, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private interface Interceptor {
+        Object after(Method method, Object[] args, Object result);
+    }
+
+    /**
+     * A prepared statement and the setter calls that bound its parameters, in call order.
+     */
+    public record Recorded(String sql, List<Binding> bindings) {
+
+        /**
+         * Repeats the recorded setter calls on {@code statement}, which must have the same parameters.
+         */
+        public void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.setter().invoke(statement, binding.args());
+                } catch (InvocationTargetException e) {
+                    throw new SQLException("Не удалось привязать параметр " + binding.args()[0], e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    record Binding(Method setter, Object[] args) {
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BookingApprovalConcurrencyTests {
+
+    private static final int BOOKINGS = 50;
+    private static final int DECISIONS_PER_BOOKING = 40;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@race.test").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@race.test").build());
+        item = itemRepository.save(Item.builder().name("Дрель").description("Описание").available(true)
+                .owner(owner).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(bookingRepository.save(Booking.builder().item(item).booker(booker)
+                    .start(start.plusDays(i)).end(start.plusDays(i).plusHours(1)).status(Status.WAITING).build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch(bookings);
+        itemRepository.delete(item);
+        userRepository.deleteAll(List.of(owner, booker));
+    }
+
+    @Test
+    void concurrentDecisionsHaveExactlyOneWinnerPerBookingTesting() throws Exception {
+        Map<Integer, List<Status>> winners = new ConcurrentHashMap<>();
+        AtomicInteger refused = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int attempt = 0; attempt < DECISIONS_PER_BOOKING; attempt++) {
+            boolean approve = attempt % 2 == 0;
+            for (Booking booking : bookings) {
+                futures.add(executor.submit(() -> {
+                    startSignal.await();
+                    try {
+                        BookingOutputDto decided = bookingService.approveBooking(owner.getId(), booking.getId(), approve);
+                        winners.computeIfAbsent(booking.getId(), id -> new CopyOnWriteArrayList<>())
+                                .add(decided.getStatus());
+                    } catch (ValidationException e) {
+                        refused.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(BOOKINGS, winners.size());
+        assertEquals(BOOKINGS * (DECISIONS_PER_BOOKING - 1), refused.get());
+        for (Booking booking : bookings) {
+            List<Status> decisions = winners.get(booking.getId());
+            assertEquals(1, decisions.size(), "Несколько решений по бронированию " + booking.getId());
+            Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+            assertEquals(decisions.get(0), stored.getStatus());
+            assertEquals(booking.getVersion() + 1, stored.getVersion());
+        }
+    }
+}
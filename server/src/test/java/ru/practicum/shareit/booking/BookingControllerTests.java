@@ -17,7 +17,9 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutputDto;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.HeaderConstants;
 import ru.practicum.shareit.item.dto.ItemOutputDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import ru.practicum.shareit.user.dto.UserDto;
 
@@ -26,6 +28,7 @@ import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -130,7 +133,7 @@ public class BookingControllerTests {
 
     @Test
     void getUsersBookingsTesting() throws Exception {
-        when(bookingService.getAllUserBookings(eq(2), eq("ALL")))
+        when(bookingService.getAllUserBookings(eq(2), eq("ALL"), isNull(), isNull()))
                 .thenReturn(Collections.singletonList(resultDto));
 
         mvc.perform(get("/bookings")
@@ -150,7 +153,7 @@ public class BookingControllerTests {
 
     @Test
     void getAllItemBookingsOfOwnerTesting() throws Exception {
-        when(bookingService.getAllOwnerItemBookings(eq(2), eq("ALL")))
+        when(bookingService.getAllOwnerItemBookings(eq(2), eq("ALL"), isNull(), isNull()))
                 .thenReturn(Collections.singletonList(resultDto));
 
         mvc.perform(get("/bookings/owner")
@@ -167,4 +170,33 @@ public class BookingControllerTests {
                 .andExpect(jsonPath("$[0].item.id").value(resultDto.getItem().getId()))
                 .andExpect(jsonPath("$[0].item.name").value(resultDto.getItem().getName()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllItemBookingsOfOwnerFullPageReturnsNextCursorTesting() throws Exception {
+        when(bookingService.getAllOwnerItemBookings(eq(2), eq("ALL"), eq(1), isNull()))
+                .thenReturn(Collections.singletonList(resultDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 2)
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(resultDto.getId()))
+                .andExpect(header().string(HeaderConstants.NEXT_CURSOR_HEADER,
+                        new KeysetCursor(resultDto.getStart(), resultDto.getId()).encode()));
+    }
+
+    @Test
+    void getUsersBookingsPartialPageHasNoNextCursorTesting() throws Exception {
+        when(bookingService.getAllUserBookings(eq(2), eq("ALL"), eq(5), eq("cursor")))
+                .thenReturn(Collections.singletonList(resultDto));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2)
+                        .param("limit", "5")
+                        .param("cursor", "cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HeaderConstants.NEXT_CURSOR_HEADER));
+    }
+}
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingSlot;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex(bookingRepository);
+    }
+
+    @Test
+    void detectsOverlapsWithHalfOpenIntervalsTesting() {
+        index.add(booking(1, 1, BASE.plusDays(1), BASE.plusDays(3)));
+
+        assertTrue(index.overlaps(1, BASE.plusDays(2), BASE.plusDays(4)));
+        assertTrue(index.overlaps(1, BASE, BASE.plusDays(10)));
+        assertFalse(index.overlaps(1, BASE.plusDays(3), BASE.plusDays(4)));
+        assertFalse(index.overlaps(1, BASE, BASE.plusDays(1)));
+        assertFalse(index.overlaps(2, BASE.plusDays(2), BASE.plusDays(4)));
+    }
+
+    @Test
+    void findsLongBookingStartedFarBeforeWindowTesting() {
+        index.add(booking(1, 1, BASE, BASE.plusDays(30)));
+        index.add(booking(2, 1, BASE.plusDays(31), BASE.plusDays(32)));
+
+        assertTrue(index.overlaps(1, BASE.plusDays(20), BASE.plusDays(21)));
+    }
+
+    @Test
+    void removedBookingFreesWindowTesting() {
+        Booking booking = booking(1, 1, BASE.plusDays(1), BASE.plusDays(3));
+        index.add(booking);
+
+        index.remove(booking);
+
+        assertFalse(index.overlaps(1, BASE.plusDays(1), BASE.plusDays(3)));
+        assertEquals(0, index.size(1));
+    }
+
+    @Test
+    void rebuildLoadsActiveBookingsFromRepositoryTesting() {
+        when(bookingRepository.findSlotsByStatusInAndEndAfter(eq(BookingIntervalIndex.BLOCKING_STATUSES),
+                any(LocalDateTime.class))).thenReturn(List.of(
+                new BookingSlot(1, 7, BASE, BASE.plusDays(2)),
+                new BookingSlot(2, 7, BASE.plusDays(5), BASE.plusDays(6)),
+                new BookingSlot(3, 8, BASE, BASE.plusDays(1))));
+
+        index.afterSingletonsInstantiated();
+
+        assertEquals(2, index.size(7));
+        assertEquals(1, index.size(8));
+        assertTrue(index.overlaps(7, BASE.plusDays(1), BASE.plusDays(3)));
+        assertFalse(index.overlaps(7, BASE.plusDays(2), BASE.plusDays(5)));
+    }
+
+    @Test
+    void endedBookingsArePrunedTesting() {
+        LocalDateTime now = LocalDateTime.now();
+        index.add(booking(1, 1, now.minusDays(3), now.minusDays(1)));
+        index.add(booking(2, 1, now.minusDays(1), now.plusDays(1)));
+
+        assertFalse(index.overlaps(1, now.plusDays(1), now.plusDays(2)));
+        assertEquals(1, index.size(1));
+
+        index.add(booking(3, 2, now.minusDays(2), now.minusDays(1)));
+        assertFalse(index.overlaps(2, now, now.plusDays(1)));
+        assertEquals(0, index.size(2));
+    }
+
+    @Test
+    void longestShrinksWhenLongestBookingIsRemovedTesting() {
+        Booking longBooking = booking(1, 1, BASE, BASE.plusDays(30));
+        index.add(longBooking);
+        index.add(booking(2, 1, BASE.plusDays(31), BASE.plusDays(33)));
+        index.add(booking(3, 1, BASE.plusDays(40), BASE.plusDays(42)));
+        assertEquals(Duration.ofDays(30), index.longest(1));
+
+        index.remove(longBooking);
+
+        assertEquals(Duration.ofDays(2), index.longest(1));
+        index.remove(booking(2, 1, BASE.plusDays(31), BASE.plusDays(33)));
+        assertEquals(Duration.ofDays(2), index.longest(1));
+    }
+
+    @Test
+    void longestShrinksWhenLongestBookingIsPrunedTesting() {
+        LocalDateTime now = LocalDateTime.now();
+        index.add(booking(1, 1, now.minusDays(30), now.minusDays(1)));
+        index.add(booking(2, 1, now.plusDays(1), now.plusDays(2)));
+
+        assertFalse(index.overlaps(1, now, now.plusHours(1)));
+
+        assertEquals(Duration.ofDays(1), index.longest(1));
+    }
+
+    @Test
+    void concurrentReservationsNeverOverlapTesting() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 2_000;
+        int items = 3;
+        AtomicInteger ids = new AtomicInteger();
+        Map<Integer, List<BookingSlot>> accepted = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                startSignal.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    int itemId = random.nextInt(items) + 1;
+                    LocalDateTime start = BASE.plusHours(random.nextInt(24 * 60));
+                    LocalDateTime end = start.plusHours(random.nextInt(72) + 1);
+                    index.withItemLock(itemId, () -> {
+                        if (!index.overlaps(itemId, start, end)) {
+                            Booking booking = booking(ids.incrementAndGet(), itemId, start, end);
+                            index.add(booking);
+                            accepted.computeIfAbsent(itemId, id -> new CopyOnWriteArrayList<>())
+                                    .add(new BookingSlot(booking.getId(), itemId, start, end));
+                        }
+                        return null;
+                    });
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertFalse(accepted.isEmpty());
+        for (Map.Entry<Integer, List<BookingSlot>> entry : accepted.entrySet()) {
+            List<BookingSlot> slots = new ArrayList<>(entry.getValue());
+            slots.sort(Comparator.comparing(BookingSlot::getStart));
+            for (int i = 1; i < slots.size(); i++) {
+                assertFalse(slots.get(i).getStart().isBefore(slots.get(i - 1).getEnd()),
+                        "Двойное бронирование предмета " + entry.getKey());
+            }
+            assertEquals(slots.size(), index.size(entry.getKey()));
+        }
+    }
+
+    private static Booking booking(int id, int itemId, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .start(start)
+                .end(end)
+                .status(Status.WAITING)
+                .build();
+    }
+}
@@ -26,7 +26,7 @@ class BookingMappingTest {
                 .description("Description1")
                 .available(true)
                 .build();
-        Booking booking = new Booking(10, LocalDateTime.now(), LocalDateTime.now().plusDays(1), item, booker, Status.APPROVED);
+        Booking booking = new Booking(10, LocalDateTime.now(), LocalDateTime.now().plusDays(1), item, booker, Status.APPROVED, null);
 
         BookingOutputDto dto = BookingMapper.toBookingOutDto(booking);
 
@@ -45,7 +45,7 @@ class BookingMappingTest {
                 .name("Ivan")
                 .email("ivanovemail@yandex.ru")
                 .build();
-        Booking booking = new Booking(10, LocalDateTime.now(), LocalDateTime.now().plusDays(1), new Item(), booker, Status.APPROVED);
+        Booking booking = new Booking(10, LocalDateTime.now(), LocalDateTime.now().plusDays(1), new Item(), booker, Status.APPROVED, null);
 
         BookingShortDto dto = BookingMapper.toBookingShortDto(booking);
 
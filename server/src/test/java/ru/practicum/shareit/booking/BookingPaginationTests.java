@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+class BookingPaginationTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.now().plusYears(1).withNano(0);
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private BookingService bookingService;
+
+    private User owner;
+    private User booker;
+    private final List<Integer> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("Owner").email("owner@pagination.test").build());
+        booker = persist(User.builder().name("Booker").email("booker@pagination.test").build());
+        Item item = persist(Item.builder().name("Дрель").description("Дрель").available(true).owner(owner).build());
+        for (int i = 0; i < 5; i++) {
+            LocalDateTime start = i < 2 ? BASE : BASE.plusDays(i);
+            Booking booking = persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .start(start)
+                    .end(start.plusHours(1))
+                    .status(Status.WAITING)
+                    .build());
+            bookingIds.add(booking.getId());
+        }
+    }
+
+    @Test
+    void walksBookerBookingsPageByPageWithoutGapsTesting() {
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        List<BookingOutputDto> page;
+        do {
+            page = bookingService.getAllUserBookings(booker.getId(), "FUTURE", 2, cursor);
+            page.forEach(booking -> seen.add(booking.getId()));
+            if (!page.isEmpty()) {
+                BookingOutputDto last = page.get(page.size() - 1);
+                cursor = new KeysetCursor(last.getStart(), last.getId()).encode();
+            }
+        } while (page.size() == 2);
+
+        assertEquals(List.of(bookingIds.get(4), bookingIds.get(3), bookingIds.get(2),
+                bookingIds.get(1), bookingIds.get(0)), seen);
+    }
+
+    @Test
+    void ownerPageIsLimitedAndSortedNewestFirstTesting() {
+        List<BookingOutputDto> page = bookingService.getAllOwnerItemBookings(owner.getId(), "ALL", 3, null);
+
+        assertEquals(List.of(bookingIds.get(4), bookingIds.get(3), bookingIds.get(2)),
+                page.stream().map(BookingOutputDto::getId).toList());
+    }
+
+    @Test
+    void malformedCursorIsRejectedTesting() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getAllUserBookings(booker.getId(), "ALL", 2, "not-a-cursor"));
+    }
+
+    @Test
+    void cursorSurvivesEncodeDecodeTesting() {
+        KeysetCursor cursor = new KeysetCursor(BASE, 42);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserDirectory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingQueryCountTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    /**
+     * The user check is answered by the warmed up user directory, the only statement loads the bookings
+     * with their items, owners and bookers.
+     */
+    private static final long STATEMENTS_PER_CALL = 1;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserDirectory userDirectory;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Booking waitingOwnerBooking;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = persist(User.builder().name("Owner").email("owner@count.test").build());
+        booker = persist(User.builder().name("Booker").email("booker@count.test").build());
+        for (int i = 0; i < 6; i++) {
+            User itemOwner = persist(User.builder().name("Owner" + i).email("owner" + i + "@count.test").build());
+            Item item = persist(Item.builder().name("Вещь " + i).description("Описание").available(true)
+                    .owner(i % 2 == 0 ? owner : itemOwner).build());
+            LocalDateTime start = NOW.plusDays(i - 3);
+            Booking booking = persist(Booking.builder().item(item).booker(booker).start(start).end(start.plusDays(2))
+                    .status(i % 3 == 0 ? Status.REJECTED : Status.WAITING).build());
+            if (i % 2 == 0 && i % 3 != 0) {
+                waitingOwnerBooking = booking;
+            }
+        }
+        entityManager.flush();
+        userDirectory.getUser(owner.getId());
+        userDirectory.getUser(booker.getId());
+    }
+
+    @Test
+    void everyBookerStateIsSingleListStatementTesting() {
+        for (State state : State.values()) {
+            List<BookingOutputDto> bookings = countStatements(
+                    () -> bookingService.getAllUserBookings(booker.getId(), state.name(), null, null));
+            bookings.forEach(this::assertFullyMapped);
+        }
+        List<BookingOutputDto> all = countStatements(
+                () -> bookingService.getAllUserBookings(booker.getId(), "ALL", null, null));
+        assertEquals(6, all.size());
+    }
+
+    @Test
+    void everyOwnerStateIsSingleListStatementTesting() {
+        for (State state : State.values()) {
+            List<BookingOutputDto> bookings = countStatements(
+                    () -> bookingService.getAllOwnerItemBookings(owner.getId(), state.name(), null, null));
+            bookings.forEach(this::assertFullyMapped);
+        }
+        List<BookingOutputDto> all = countStatements(
+                () -> bookingService.getAllOwnerItemBookings(owner.getId(), "ALL", null, null));
+        assertEquals(3, all.size());
+    }
+
+    @Test
+    void keysetPageIsSingleListStatementTesting() {
+        List<BookingOutputDto> page = countStatements(
+                () -> bookingService.getAllUserBookings(booker.getId(), "ALL", 4, null));
+
+        assertEquals(4, page.size());
+    }
+
+    @Test
+    void approvalIsConditionalUpdateAndSingleSelectTesting() {
+        entityManager.clear();
+        statistics.clear();
+
+        BookingOutputDto approved = bookingService.approveBooking(owner.getId(), waitingOwnerBooking.getId(), true);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(Status.APPROVED, approved.getStatus());
+        assertFullyMapped(approved);
+    }
+
+    private List<BookingOutputDto> countStatements(Supplier<List<BookingOutputDto>> call) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookingOutputDto> result = call.get();
+
+        assertEquals(STATEMENTS_PER_CALL, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    private void assertFullyMapped(BookingOutputDto booking) {
+        assertNotNull(booking.getBooker().getName());
+        assertNotNull(booking.getItem().getName());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingOutputDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bookers race for overlapping windows of one item while the owner rejects some of the accepted bookings,
+ * which frees their windows again. Whatever the interleaving, no two persisted WAITING or APPROVED bookings
+ * of the item may overlap.
+ */
+@SpringBootTest
+class BookingReservationConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 60;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private final List<User> bookers = new ArrayList<>();
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@reservation.test").build());
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(User.builder().name("Booker " + i)
+                    .email("booker" + i + "@reservation.test").build()));
+        }
+        item = itemRepository.save(Item.builder().name("Дрель").description("Описание").available(true)
+                .owner(owner).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch(bookingsOfItem());
+        itemRepository.delete(item);
+        userRepository.deleteAll(bookers);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void concurrentBookingsOfOneItemNeverOverlapTesting() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            User booker = bookers.get(t);
+            long seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                startSignal.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDateTime start = base.plusHours(random.nextInt(24 * 10));
+                    LocalDateTime end = start.plusHours(random.nextInt(48) + 1);
+                    try {
+                        BookingOutputDto booking = bookingService.addBooking(booker.getId(),
+                                new BookingDto(item.getId(), start, end, null));
+                        accepted.incrementAndGet();
+                        if (random.nextInt(3) == 0) {
+                            bookingService.approveBooking(owner.getId(), booking.getId(), false);
+                        }
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertTrue(accepted.get() > 0);
+        assertTrue(conflicts.get() > 0);
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, accepted.get() + conflicts.get());
+        List<Booking> blocking = new ArrayList<>(bookingsOfItem().stream()
+                .filter(booking -> BookingIntervalIndex.BLOCKING_STATUSES.contains(booking.getStatus()))
+                .toList());
+        blocking.sort(Comparator.comparing(Booking::getStart));
+        for (int i = 1; i < blocking.size(); i++) {
+            assertFalse(blocking.get(i).getStart().isBefore(blocking.get(i - 1).getEnd()),
+                    "Пересекаются бронирования " + blocking.get(i - 1).getId() + " и " + blocking.get(i).getId());
+        }
+    }
+
+    private List<Booking> bookingsOfItem() {
+        return bookingRepository.findAll().stream()
+                .filter(booking -> booking.getItem().getId().equals(item.getId()))
+                .toList();
+    }
+}
@@ -5,14 +5,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.ArgumentMatchers;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutputDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.UnknownValueException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -27,10 +34,14 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +55,8 @@ class BookingServiceTests {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -61,8 +74,11 @@ class BookingServiceTests {
 
     @BeforeEach
     void setUp() {
-        user1 = new User(1, "Ivan", "ivan@durnoiservis.com");
-        user2 = new User(2, "Petr", "petr@durnoiservis.com");
+        lenient().when(bookingIntervalIndex.withItemLock(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
+        user1 = new User(1, "Ivan", "ivan@durnoiservis.com", null);
+        user2 = new User(2, "Petr", "petr@durnoiservis.com", null);
 
         item1 = Item.builder()
                 .id(1)
@@ -79,8 +95,7 @@ class BookingServiceTests {
                 LocalDateTime.now().plusDays(2),
                 item1,
                 user2,
-                Status.WAITING
-        );
+                Status.WAITING, null);
 
         bookingInputDto = new BookingDto(
                 item1.getId(),
@@ -98,11 +113,11 @@ class BookingServiceTests {
                 ItemMapper.toItemOutputDto(item1)
         );
         LocalDateTime now = LocalDateTime.now();
-        currentBooking = new Booking(1, now.minusDays(1), now.plusDays(1), item1, user1, Status.APPROVED);
-        pastBooking = new Booking(2, now.minusDays(10), now.minusDays(5), item1, user1, Status.APPROVED);
-        futureBooking = new Booking(3, now.plusDays(5), now.plusDays(10), item1, user1, Status.APPROVED);
-        waitingBooking = new Booking(4, now.plusDays(1), now.plusDays(2), item1, user1, Status.WAITING);
-        rejectedBooking = new Booking(5, now.plusDays(3), now.plusDays(4), item1, user1, Status.REJECTED);
+        currentBooking = new Booking(1, now.minusDays(1), now.plusDays(1), item1, user1, Status.APPROVED, null);
+        pastBooking = new Booking(2, now.minusDays(10), now.minusDays(5), item1, user1, Status.APPROVED, null);
+        futureBooking = new Booking(3, now.plusDays(5), now.plusDays(10), item1, user1, Status.APPROVED, null);
+        waitingBooking = new Booking(4, now.plusDays(1), now.plusDays(2), item1, user1, Status.WAITING, null);
+        rejectedBooking = new Booking(5, now.plusDays(3), now.plusDays(4), item1, user1, Status.REJECTED, null);
     }
 
     @Test
@@ -118,6 +133,28 @@ class BookingServiceTests {
         assertEquals(bookingInputDto.getEnd(), created.getEnd());
     }
 
+    @Test
+    void addBookingOverlappingExistingBookingTesting() {
+        when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+        when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+        when(bookingIntervalIndex.overlaps(item1.getId(), bookingInputDto.getStart(), bookingInputDto.getEnd()))
+                .thenReturn(true);
+
+        assertThrows(ConflictException.class, () -> bookingService.addBooking(user2.getId(), bookingInputDto));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void addBookingRegistersSlotInIndexTesting() {
+        when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
+        when(itemRepository.findById(item1.getId())).thenReturn(Optional.of(item1));
+        when(bookingRepository.save(any())).thenReturn(booking);
+
+        bookingService.addBooking(user2.getId(), bookingInputDto);
+
+        verify(bookingIntervalIndex).add(booking);
+    }
+
     @Test
     void addBookingWithInvalidDatesTesting() {
         when(userRepository.findById(user2.getId())).thenReturn(Optional.of(user2));
@@ -129,8 +166,9 @@ class BookingServiceTests {
 
     @Test
     void approveBookingTesting() {
-        when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.decideIfWaiting(1, user1.getId(), Status.APPROVED)).thenReturn(1);
+        booking.setStatus(Status.APPROVED);
+        when(bookingRepository.findOne(anySpecification())).thenReturn(Optional.of(booking));
 
         BookingOutputDto approved = bookingService.approveBooking(user1.getId(), 1, true);
 
@@ -141,12 +179,15 @@ class BookingServiceTests {
     @Test
     void approveBookingAlreadyApproved() {
         booking.setStatus(Status.APPROVED);
+        when(bookingRepository.decideIfWaiting(1, user1.getId(), Status.APPROVED)).thenReturn(0);
         when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
         assertThrows(ValidationException.class, () -> bookingService.approveBooking(user1.getId(), 1, true));
+        verify(bookingIntervalIndex, never()).remove(any());
     }
 
     @Test
     void approveBookingAccessDenied() {
+        when(bookingRepository.decideIfWaiting(1, user2.getId(), Status.APPROVED)).thenReturn(0);
         when(bookingRepository.findById(1)).thenReturn(Optional.of(booking));
         assertThrows(AccessDeniedException.class, () -> bookingService.approveBooking(user2.getId(), 1, true));
     }
@@ -189,9 +230,9 @@ class BookingServiceTests {
     @Test
     void getAllUserBookingsAllTesting() {
         when(userService.getUserById(user2.getId())).thenReturn(UserMapper.toUserDto(user2));
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(user2.getId())).thenReturn(List.of(booking));
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class))).thenReturn(List.of(booking));
 
-        List<BookingOutputDto> result = bookingService.getAllUserBookings(user2.getId(), "ALL");
+        List<BookingOutputDto> result = bookingService.getAllUserBookings(user2.getId(), "ALL", null, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -201,15 +242,15 @@ class BookingServiceTests {
     @Test
     void getAllUserBookingsInvalidStateTesting() {
         when(userService.getUserById(user2.getId())).thenReturn(UserMapper.toUserDto(user2));
-        assertThrows(UnknownValueException.class, () -> bookingService.getAllUserBookings(user2.getId(), "INVALID_STATE"));
+        assertThrows(UnknownValueException.class, () -> bookingService.getAllUserBookings(user2.getId(), "INVALID_STATE", null, null));
     }
 
     @Test
     void getAllOwnerItemBookingsAllTesting() {
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(user1.getId())).thenReturn(List.of(booking));
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class))).thenReturn(List.of(booking));
 
-        List<BookingOutputDto> result = bookingService.getAllOwnerItemBookings(user1.getId(), "ALL");
+        List<BookingOutputDto> result = bookingService.getAllOwnerItemBookings(user1.getId(), "ALL", null, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -220,7 +261,7 @@ class BookingServiceTests {
     void getAllOwnerItemBookingsInvalidStateTesting() {
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
 
-        assertThrows(UnknownValueException.class, () -> bookingService.getAllOwnerItemBookings(user1.getId(), "INVALID_STATE"));
+        assertThrows(UnknownValueException.class, () -> bookingService.getAllOwnerItemBookings(user1.getId(), "INVALID_STATE", null, null));
     }
 
     @Test
@@ -230,10 +271,10 @@ class BookingServiceTests {
         booking.setEnd(currentTime.plusDays(1));
 
         when(userService.getUserById(user2.getId())).thenReturn(UserMapper.toUserDto(user2));
-        when(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartAsc(eq(user2.getId()), any(), any()))
+        when(bookingRepository.findAll(anySpecification(), eq(BookingSpecifications.sortFor(State.CURRENT))))
                 .thenReturn(List.of(booking));
 
-        List<BookingOutputDto> result = bookingService.getAllUserBookings(user2.getId(), "CURRENT");
+        List<BookingOutputDto> result = bookingService.getAllUserBookings(user2.getId(), "CURRENT", null, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -246,10 +287,10 @@ class BookingServiceTests {
         booking.setEnd(currentTime.plusDays(1));
 
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
-        when(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartAsc(eq(user1.getId()), any(), any()))
+        when(bookingRepository.findAll(anySpecification(), eq(BookingSpecifications.sortFor(State.CURRENT))))
                 .thenReturn(List.of(booking));
 
-        List<BookingOutputDto> result = bookingService.getAllOwnerItemBookings(user1.getId(), "CURRENT");
+        List<BookingOutputDto> result = bookingService.getAllOwnerItemBookings(user1.getId(), "CURRENT", null, null);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -283,27 +324,28 @@ class BookingServiceTests {
 
     @Test
     void approveBookingWithFalseRejectsBookingTesting() {
-        booking.setStatus(Status.WAITING);
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.decideIfWaiting(booking.getId(), user1.getId(), Status.REJECTED)).thenReturn(1);
+        booking.setStatus(Status.REJECTED);
+        when(bookingRepository.findOne(anySpecification())).thenReturn(Optional.of(booking));
 
         BookingOutputDto updatedBooking = bookingService.approveBooking(user1.getId(), booking.getId(), false);
 
         assertEquals(Status.REJECTED, updatedBooking.getStatus());
+        verify(bookingIntervalIndex).remove(booking);
     }
 
     @Test
     void getAllUserBookingsByStateTesting() {
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
 
-        when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(eq(user1.getId()), any()))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(booking));
-        List<BookingOutputDto> pastBookings = bookingService.getAllUserBookings(user1.getId(), "PAST");
+        List<BookingOutputDto> pastBookings = bookingService.getAllUserBookings(user1.getId(), "PAST", null, null);
         assertEquals(1, pastBookings.size());
 
-        when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(eq(user1.getId()), any()))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of());
-        List<BookingOutputDto> futureBookings = bookingService.getAllUserBookings(user1.getId(), "FUTURE");
+        List<BookingOutputDto> futureBookings = bookingService.getAllUserBookings(user1.getId(), "FUTURE", null, null);
         assertTrue(futureBookings.isEmpty());
     }
 
@@ -311,43 +353,43 @@ class BookingServiceTests {
     void getAllOwnerItemBookingsByStateTesting() {
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
 
-        when(bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(eq(user1.getId()), any()))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(booking));
-        List<BookingOutputDto> pastBookings = bookingService.getAllOwnerItemBookings(user1.getId(), "PAST");
+        List<BookingOutputDto> pastBookings = bookingService.getAllOwnerItemBookings(user1.getId(), "PAST", null, null);
         assertEquals(1, pastBookings.size());
 
-        when(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartAsc(eq(user1.getId()), any(), any()))
+        when(bookingRepository.findAll(anySpecification(), eq(BookingSpecifications.sortFor(State.CURRENT))))
                 .thenReturn(List.of());
-        List<BookingOutputDto> currentBookings = bookingService.getAllOwnerItemBookings(user1.getId(), "CURRENT");
+        List<BookingOutputDto> currentBookings = bookingService.getAllOwnerItemBookings(user1.getId(), "CURRENT", null, null);
         assertTrue(currentBookings.isEmpty());
     }
 
     @Test
     void getAllUserBookingsByStateAllTesting() {
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(user1.getId())).thenReturn(List.of(booking));
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class))).thenReturn(List.of(booking));
 
-        List<BookingOutputDto> allBookings = bookingService.getAllUserBookings(user1.getId(), "ALL");
+        List<BookingOutputDto> allBookings = bookingService.getAllUserBookings(user1.getId(), "ALL", null, null);
         assertEquals(1, allBookings.size());
     }
 
     @Test
     void getAllUserBookingsByStateWaitingTesting() {
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(user1.getId(), Status.WAITING))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingOutputDto> waitingBookings = bookingService.getAllUserBookings(user1.getId(), "WAITING");
+        List<BookingOutputDto> waitingBookings = bookingService.getAllUserBookings(user1.getId(), "WAITING", null, null);
         assertEquals(1, waitingBookings.size());
     }
 
     @Test
     void getAllUserBookingsByStateRejectedTesting() {
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(user1.getId(), Status.REJECTED))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingOutputDto> rejectedBookings = bookingService.getAllUserBookings(user1.getId(), "REJECTED");
+        List<BookingOutputDto> rejectedBookings = bookingService.getAllUserBookings(user1.getId(), "REJECTED", null, null);
         assertEquals(1, rejectedBookings.size());
     }
 
@@ -356,25 +398,25 @@ class BookingServiceTests {
         when(userService.getUserById(user1.getId())).thenReturn(UserMapper.toUserDto(user1));
 
         Exception exception = assertThrows(UnknownValueException.class,
-                () -> bookingService.getAllUserBookings(user1.getId(), "INVALID_STATE"));
+                () -> bookingService.getAllUserBookings(user1.getId(), "INVALID_STATE", null, null));
     }
 
     @Test
     void getAllOwnerItemBookingsByStateAllTesting() {
         when(userService.getUserById(item1.getOwner().getId())).thenReturn(UserMapper.toUserDto(item1.getOwner()));
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(item1.getOwner().getId())).thenReturn(List.of(booking));
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class))).thenReturn(List.of(booking));
 
-        List<BookingOutputDto> allBookings = bookingService.getAllOwnerItemBookings(item1.getOwner().getId(), "ALL");
+        List<BookingOutputDto> allBookings = bookingService.getAllOwnerItemBookings(item1.getOwner().getId(), "ALL", null, null);
         assertEquals(1, allBookings.size());
     }
 
     @Test
     void getAllOwnerItemBookingsByStateWaitingTesting() {
         when(userService.getUserById(item1.getOwner().getId())).thenReturn(UserMapper.toUserDto(item1.getOwner()));
-        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(item1.getOwner().getId(), Status.WAITING))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingOutputDto> waitingBookings = bookingService.getAllOwnerItemBookings(item1.getOwner().getId(), "WAITING");
+        List<BookingOutputDto> waitingBookings = bookingService.getAllOwnerItemBookings(item1.getOwner().getId(), "WAITING", null, null);
         assertEquals(1, waitingBookings.size());
     }
 
@@ -383,25 +425,25 @@ class BookingServiceTests {
         when(userService.getUserById(item1.getOwner().getId())).thenReturn(UserMapper.toUserDto(item1.getOwner()));
 
         Exception exception = assertThrows(UnknownValueException.class,
-                () -> bookingService.getAllOwnerItemBookings(item1.getOwner().getId(), "INVALID_STATE"));
+                () -> bookingService.getAllOwnerItemBookings(item1.getOwner().getId(), "INVALID_STATE", null, null));
     }
 
     @Test
     void getAllOwnerItemBookingsByStateRejectedTesting() {
         when(userService.getUserById(item1.getOwner().getId())).thenReturn(UserMapper.toUserDto(item1.getOwner()));
-        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(item1.getOwner().getId(), Status.REJECTED))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(booking));
 
-        List<BookingOutputDto> rejectedBookings = bookingService.getAllOwnerItemBookings(item1.getOwner().getId(), "REJECTED");
+        List<BookingOutputDto> rejectedBookings = bookingService.getAllOwnerItemBookings(item1.getOwner().getId(), "REJECTED", null, null);
         assertEquals(1, rejectedBookings.size());
     }
 
     @Test
     void getAllUserBookingsPastTesting() {
-        when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(eq(user1.getId()), any()))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(pastBooking));
 
-        List<BookingOutputDto> result = bookingService.getAllUserBookings(user1.getId(), "PAST");
+        List<BookingOutputDto> result = bookingService.getAllUserBookings(user1.getId(), "PAST", null, null);
 
         assertEquals(1, result.size());
         assertEquals(pastBooking.getId(), result.get(0).getId());
@@ -409,10 +451,10 @@ class BookingServiceTests {
 
     @Test
     void getAllUserBookingsFutureTesting() {
-        when(bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(eq(user1.getId()), any()))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(futureBooking));
 
-        List<BookingOutputDto> result = bookingService.getAllUserBookings(user1.getId(), "FUTURE");
+        List<BookingOutputDto> result = bookingService.getAllUserBookings(user1.getId(), "FUTURE", null, null);
 
         assertEquals(1, result.size());
         assertEquals(futureBooking.getId(), result.get(0).getId());
@@ -420,10 +462,10 @@ class BookingServiceTests {
 
     @Test
     void getAllUserBookingsWaitingTesting() {
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(user1.getId(), Status.WAITING))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(waitingBooking));
 
-        List<BookingOutputDto> result = bookingService.getAllUserBookings(user1.getId(), "WAITING");
+        List<BookingOutputDto> result = bookingService.getAllUserBookings(user1.getId(), "WAITING", null, null);
 
         assertEquals(1, result.size());
         assertEquals(waitingBooking.getId(), result.get(0).getId());
@@ -431,14 +473,16 @@ class BookingServiceTests {
 
     @Test
     void getAllUserBookingsRejectedTesting() {
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(user1.getId(), Status.REJECTED))
+        when(bookingRepository.findAll(anySpecification(), any(Sort.class)))
                 .thenReturn(List.of(rejectedBooking));
 
-        List<BookingOutputDto> result = bookingService.getAllUserBookings(user1.getId(), "REJECTED");
+        List<BookingOutputDto> result = bookingService.getAllUserBookings(user1.getId(), "REJECTED", null, null);
 
         assertEquals(1, result.size());
         assertEquals(rejectedBooking.getId(), result.get(0).getId());
     }
-}
-
 
+    private static Specification<Booking> anySpecification() {
+        return ArgumentMatchers.any();
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.dataset;
+
+/**
+ * What a generator run inserted: row counts and ids of the heaviest rows, which are the interesting
+ * parameters for query plans.
+ *
+ * @param topOwnerId       power owner with the most items
+ * @param topItemId        item with the most bookings
+ * @param topBookerId      user with the most bookings
+ * @param answeredRequestId request that has at least one item created in answer to it
+ */
+public record Dataset(
+        int users,
+        int items,
+        int requests,
+        long bookings,
+        long comments,
+        int topOwnerId,
+        int topItemId,
+        int topBookerId,
+        int answeredRequestId) {
+}
@@ -0,0 +1,389 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Fills the schema with a synthetic dataset of realistic shape using batched JDBC inserts:
+ * <ul>
+ *     <li>a few power owners hold a large share of the items, the rest belong to random users;</li>
+ *     <li>bookings go to items with Zipf popularity, so a handful of items have thousands of bookings
+ *     and most have one or none, and to bookers with a milder Zipf skew;</li>
+ *     <li>bookings of an item follow each other without overlapping over {@code years} before the anchor,
+ *     with statuses matching their time: finished ones approved, rejected or canceled, future ones
+ *     also waiting;</li>
+ *     <li>finished approved bookings get comments from their bookers, and {@code item_comment_stats} is
+ *     filled to match;</li>
+ *     <li>names, descriptions, requests and comments are in Russian.</li>
+ * </ul>
+ * Rows are appended after the ids already in the tables, so the generator can run inside a test
+ * transaction that is rolled back. Each table draws from its own random stream split from the seed, so
+ * the same spec always produces the same rows.
+ *
+ * <p>Standalone, {@link #main} migrates the database with the server's Flyway scripts and fills it
+ * with the spec from {@link DatasetSpec#fromSystemProperties()}:
+ * <pre>
+ * mvn -pl server test-compile org.codehaus.mojo:exec-maven-plugin:3.5.0:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=ru.practicum.shareit.dataset.DatasetGenerator \
+ *     -Ddataset.url=jdbc:postgresql://localhost:5432/sharedb?reWriteBatchedInserts=true -Ddataset.scale=0.1
+ * </pre>
+ */
+@Slf4j
+public class DatasetGenerator {
+    private static final Pattern JDBC_VENDOR = Pattern.compile("^jdbc:(\\w+):");
+    private static final double BOOKER_ZIPF_EXPONENT = 0.8;
+    private static final long MAX_BOOKING_MINUTES = ChronoUnit.DAYS.getDuration().toMinutes() * 7;
+    private static final long MAX_COMMENT_DELAY_MINUTES = ChronoUnit.DAYS.getDuration().toMinutes() * 3;
+    private static final Comparator<CommentRef> NEWEST_FIRST = Comparator.comparing(CommentRef::created)
+            .thenComparingInt(CommentRef::id)
+            .reversed();
+
+    private final DatasetSpec spec;
+
+    public DatasetGenerator(DatasetSpec spec) {
+        if (spec.users() < 2) {
+            throw new IllegalArgumentException("Для бронирований нужно хотя бы два пользователя");
+        }
+        this.spec = spec;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String url = System.getProperty("dataset.url", "jdbc:postgresql://localhost:5432/sharedb");
+        String username = System.getProperty("dataset.username", "dbuser");
+        String password = System.getProperty("dataset.password", "12345");
+        DatasetSpec spec = DatasetSpec.fromSystemProperties();
+
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration/common", "classpath:db/migration/" + vendor(url))
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            connection.setAutoCommit(false);
+            Dataset dataset = new DatasetGenerator(spec).generate(connection);
+            restartIdentities(connection);
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+            log.info("Набор данных готов: {}", dataset);
+        }
+    }
+
+    public Dataset generate(Connection connection) throws SQLException {
+        SplittableRandom seed = new SplittableRandom(spec.seed());
+        SplittableRandom userRandom = seed.split();
+        SplittableRandom requestRandom = seed.split();
+        SplittableRandom itemRandom = seed.split();
+        SplittableRandom bookingRandom = seed.split();
+
+        int userBase = maxId(connection, "users");
+        int requestBase = maxId(connection, "requests");
+        int itemBase = maxId(connection, "items");
+        int bookingBase = maxId(connection, "bookings");
+        int commentBase = maxId(connection, "comments");
+
+        insertUsers(connection, userBase, userRandom);
+        insertRequests(connection, userBase, requestBase, requestRandom);
+        Items items = insertItems(connection, userBase, requestBase, itemBase, itemRandom);
+        Bookings bookings = insertBookingsAndComments(connection, userBase, itemBase, bookingBase, commentBase,
+                items.owners(), bookingRandom);
+
+        return new Dataset(spec.users(), spec.items(), spec.requests(), bookings.bookings(), bookings.comments(),
+                userBase + items.topOwner(), itemBase + bookings.topItem(), userBase + bookings.topBooker(),
+                items.answeredRequest() < 0 ? -1 : requestBase + items.answeredRequest());
+    }
+
+    /**
+     * Moves the identity of every table past the generated ids, so rows created through the API later
+     * do not collide with them.
+     */
+    public static void restartIdentities(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("users", "requests", "items", "bookings", "comments")) {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH "
+                        + (maxId(connection, table) + 1));
+            }
+        }
+    }
+
+    private void insertUsers(Connection connection, int userBase, SplittableRandom random) throws SQLException {
+        try (Batch batch = new Batch(connection, "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (int user = 1; user <= spec.users(); user++) {
+                int id = userBase + user;
+                batch.statement().setInt(1, id);
+                batch.statement().setString(2, RussianTexts.userName(random));
+                batch.statement().setString(3, "user" + id + "@dataset.shareit.ru");
+                batch.add();
+            }
+        }
+        log.info("Добавлено пользователей: {}", spec.users());
+    }
+
+    private void insertRequests(Connection connection, int userBase, int requestBase,
+                                SplittableRandom random) throws SQLException {
+        long historyMinutes = ChronoUnit.MINUTES.between(spec.anchor().minusYears(spec.years()), spec.anchor());
+        try (Batch batch = new Batch(connection,
+                "INSERT INTO requests (id, description, requester_id, created) VALUES (?, ?, ?, ?)")) {
+            for (int request = 1; request <= spec.requests(); request++) {
+                batch.statement().setInt(1, requestBase + request);
+                batch.statement().setString(2, RussianTexts.requestDescription(random));
+                batch.statement().setInt(3, userBase + 1 + random.nextInt(spec.users()));
+                batch.statement().setObject(4, spec.anchor().minusMinutes(random.nextLong(historyMinutes)));
+                batch.add();
+            }
+        }
+        log.info("Добавлено запросов: {}", spec.requests());
+    }
+
+    private Items insertItems(Connection connection, int userBase, int requestBase, int itemBase,
+                              SplittableRandom random) throws SQLException {
+        int[] powerOwners = new int[spec.powerOwners()];
+        int[] users = shuffledIndexes(spec.users(), random);
+        System.arraycopy(users, 0, powerOwners, 0, powerOwners.length);
+        int[] powerOwnerItems = new int[powerOwners.length];
+
+        int[] owners = new int[spec.items()];
+        int answeredRequest = -1;
+        try (Batch batch = new Batch(connection, "INSERT INTO items (id, name, description, is_available, "
+                + "owner_id, request_id) VALUES (?, ?, ?, ?, ?, ?)");
+             Batch stats = new Batch(connection, "INSERT INTO item_comment_stats (item_id, comment_count) "
+                     + "VALUES (?, 0)")) {
+            for (int item = 0; item < spec.items(); item++) {
+                if (random.nextDouble() < spec.powerOwnerShare()) {
+                    int powerOwner = random.nextInt(powerOwners.length);
+                    powerOwnerItems[powerOwner]++;
+                    owners[item] = powerOwners[powerOwner];
+                } else {
+                    owners[item] = random.nextInt(spec.users());
+                }
+                String name = RussianTexts.itemName(random);
+                int id = itemBase + item + 1;
+                batch.statement().setInt(1, id);
+                batch.statement().setString(2, name);
+                batch.statement().setString(3, RussianTexts.itemDescription(name, random));
+                batch.statement().setBoolean(4, random.nextDouble() < 0.9);
+                batch.statement().setInt(5, userBase + owners[item] + 1);
+                if (random.nextDouble() < spec.answeredShare()) {
+                    int request = random.nextInt(spec.requests());
+                    answeredRequest = answeredRequest < 0 ? request : answeredRequest;
+                    batch.statement().setInt(6, requestBase + request + 1);
+                } else {
+                    batch.statement().setObject(6, null);
+                }
+                batch.add();
+                stats.statement().setInt(1, id);
+                stats.add();
+            }
+        }
+        log.info("Добавлено вещей: {}", spec.items());
+
+        int topOwner = 0;
+        for (int powerOwner = 1; powerOwner < powerOwners.length; powerOwner++) {
+            if (powerOwnerItems[powerOwner] > powerOwnerItems[topOwner]) {
+                topOwner = powerOwner;
+            }
+        }
+        return new Items(owners, powerOwners[topOwner] + 1, answeredRequest < 0 ? -1 : answeredRequest + 1);
+    }
+
+    private Bookings insertBookingsAndComments(Connection connection, int userBase, int itemBase, int bookingBase,
+                                               int commentBase, int[] owners,
+                                               SplittableRandom random) throws SQLException {
+        int[] bookingsPerItem = new int[spec.items()];
+        int[] itemByRank = shuffledIndexes(spec.items(), random);
+        ZipfDistribution itemPopularity = new ZipfDistribution(spec.items(), spec.zipfExponent());
+        for (int booking = 0; booking < spec.bookings(); booking++) {
+            bookingsPerItem[itemByRank[itemPopularity.sample(random)]]++;
+        }
+        int[] bookerByRank = shuffledIndexes(spec.users(), random);
+        ZipfDistribution bookerActivity = new ZipfDistribution(spec.users(), BOOKER_ZIPF_EXPONENT);
+        int[] bookingsPerBooker = new int[spec.users()];
+
+        LocalDateTime from = spec.anchor().minusYears(spec.years());
+        long timelineMinutes = ChronoUnit.MINUTES.between(from, spec.anchor().plusWeeks(4));
+        int bookingId = bookingBase;
+        int commentId = commentBase;
+        try (Batch bookings = new Batch(connection, "INSERT INTO bookings (id, start_date, end_date, item_id, "
+                + "booker_id, status) VALUES (?, ?, ?, ?, ?, ?)");
+             Batch comments = new Batch(connection, "INSERT INTO comments (id, text, item_id, author_id, created) "
+                     + "VALUES (?, ?, ?, ?, ?)");
+             Batch stats = new Batch(connection, "UPDATE item_comment_stats SET comment_count = ?, "
+                     + "last_comment_at = ?, recent_comment_ids = ? WHERE item_id = ?")) {
+            for (int item = 0; item < spec.items(); item++) {
+                int count = bookingsPerItem[item];
+                long slot = Math.max(1, timelineMinutes / Math.max(1, count));
+                List<CommentRef> recent = new ArrayList<>();
+                int itemComments = 0;
+                for (int booking = 0; booking < count; booking++) {
+                    int booker;
+                    do {
+                        booker = bookerByRank[bookerActivity.sample(random)];
+                    } while (booker == owners[item]);
+                    bookingsPerBooker[booker]++;
+
+                    long duration = Math.max(1, Math.min(1 + random.nextLong(MAX_BOOKING_MINUTES), slot - 1));
+                    LocalDateTime start = from.plusMinutes(booking * slot + random.nextLong(slot - duration + 1));
+                    LocalDateTime end = start.plusMinutes(duration);
+                    Status status = status(start, end, random);
+
+                    bookings.statement().setInt(1, ++bookingId);
+                    bookings.statement().setObject(2, start);
+                    bookings.statement().setObject(3, end);
+                    bookings.statement().setInt(4, itemBase + item + 1);
+                    bookings.statement().setInt(5, userBase + booker + 1);
+                    bookings.statement().setString(6, status.name());
+                    bookings.add();
+
+                    LocalDateTime created = end.plusMinutes(1 + random.nextLong(MAX_COMMENT_DELAY_MINUTES));
+                    if (status == Status.APPROVED && created.isBefore(spec.anchor())
+                            && random.nextDouble() < spec.commentRate()) {
+                        comments.statement().setInt(1, ++commentId);
+                        comments.statement().setString(2, RussianTexts.comment(random));
+                        comments.statement().setInt(3, itemBase + item + 1);
+                        comments.statement().setInt(4, userBase + booker + 1);
+                        comments.statement().setObject(5, created);
+                        comments.add();
+                        itemComments++;
+                        recent.add(new CommentRef(commentId, created));
+                        recent.sort(NEWEST_FIRST);
+                        if (recent.size() > ItemCommentStats.PREVIEW_SIZE) {
+                            recent.remove(recent.size() - 1);
+                        }
+                    }
+                }
+                if (itemComments > 0) {
+                    stats.statement().setInt(1, itemComments);
+                    stats.statement().setObject(2, recent.get(0).created());
+                    stats.statement().setString(3, recent.stream()
+                            .map(comment -> String.valueOf(comment.id()))
+                            .collect(Collectors.joining(",")));
+                    stats.statement().setInt(4, itemBase + item + 1);
+                    stats.add();
+                }
+            }
+        }
+        log.info("Добавлено бронирований: {}, отзывов: {}", bookingId - bookingBase, commentId - commentBase);
+
+        return new Bookings(bookingId - bookingBase, commentId - commentBase, indexOfMax(bookingsPerItem) + 1,
+                indexOfMax(bookingsPerBooker) + 1);
+    }
+
+    private Status status(LocalDateTime start, LocalDateTime end, SplittableRandom random) {
+        double roll = random.nextDouble();
+        if (end.isBefore(spec.anchor())) {
+            return roll < 0.8 ? Status.APPROVED : roll < 0.92 ? Status.REJECTED : Status.CANCELED;
+        }
+        if (!start.isAfter(spec.anchor())) {
+            return Status.APPROVED;
+        }
+        return roll < 0.4 ? Status.WAITING : roll < 0.9 ? Status.APPROVED : roll < 0.95 ? Status.REJECTED
+                : Status.CANCELED;
+    }
+
+    private static int[] shuffledIndexes(int size, SplittableRandom random) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static int indexOfMax(int[] values) {
+        int max = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[max]) {
+                max = i;
+            }
+        }
+        return max;
+    }
+
+    private static int maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private static String vendor(String url) {
+        Matcher matcher = JDBC_VENDOR.matcher(url);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Не удалось определить СУБД по адресу " + url);
+        }
+        return matcher.group(1);
+    }
+
+    private record Items(int[] owners, int topOwner, int answeredRequest) {
+    }
+
+    private record Bookings(long bookings, long comments, int topItem, int topBooker) {
+    }
+
+    private record CommentRef(int id, LocalDateTime created) {
+    }
+
+    /**
+     * Prepared statement that executes its batch every {@code batchSize} rows and once more on close.
+     */
+    private class Batch implements AutoCloseable {
+        private final PreparedStatement statement;
+        private int size;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++size == spec.batchSize()) {
+                statement.executeBatch();
+                size = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (size > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.dataset;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTests {
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static final DatasetSpec SPEC = DatasetSpec.DEFAULT.scaled(0.001);
+
+    @Test
+    void sameSeedProducesSameRowsTesting() throws Exception {
+        try (Connection first = migratedDatabase(); Connection second = migratedDatabase();
+             Connection reseeded = migratedDatabase()) {
+            Dataset dataset = new DatasetGenerator(SPEC).generate(first);
+            assertEquals(dataset, new DatasetGenerator(SPEC).generate(second));
+            new DatasetGenerator(SPEC.withSeed(7L)).generate(reseeded);
+
+            assertEquals(digest(first), digest(second));
+            assertNotEquals(digest(first), digest(reseeded));
+        }
+    }
+
+    @Test
+    void datasetIsSkewedTesting() throws Exception {
+        try (Connection connection = migratedDatabase()) {
+            Dataset dataset = new DatasetGenerator(SPEC).generate(connection);
+
+            assertEquals(SPEC.users(), count(connection, "SELECT COUNT(*) FROM users"));
+            assertEquals(SPEC.items(), count(connection, "SELECT COUNT(*) FROM items"));
+            assertEquals(SPEC.bookings(), count(connection, "SELECT COUNT(*) FROM bookings"));
+            assertEquals(dataset.comments(), count(connection, "SELECT COUNT(*) FROM comments"));
+            assertTrue(dataset.comments() > 0);
+
+            long ownerItems = count(connection, "SELECT COUNT(*) FROM items WHERE owner_id = " + dataset.topOwnerId());
+            assertTrue(ownerItems >= SPEC.items() * SPEC.powerOwnerShare() / SPEC.powerOwners(),
+                    "У крупного владельца всего " + ownerItems + " вещей");
+
+            long topItemBookings = count(connection, "SELECT COUNT(*) FROM bookings WHERE item_id = "
+                    + dataset.topItemId());
+            long bookedItems = count(connection, "SELECT COUNT(DISTINCT item_id) FROM bookings");
+            assertTrue(topItemBookings > SPEC.bookings() / 20, "У популярной вещи " + topItemBookings);
+            assertTrue(bookedItems < SPEC.items(), "Забронированы все вещи");
+
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id "
+                    + "WHERE b.booker_id = i.owner_id"));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM bookings a JOIN bookings b "
+                    + "ON a.item_id = b.item_id AND a.id < b.id AND a.start_date < b.end_date "
+                    + "AND b.start_date < a.end_date"));
+            assertEquals(SPEC.years() + 1, count(connection,
+                    "SELECT COUNT(DISTINCT EXTRACT(YEAR FROM start_date)) FROM bookings"));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM items WHERE NOT REGEXP_LIKE(name, '[а-я]')"));
+        }
+    }
+
+    @Test
+    void commentStatsMatchCommentsTesting() throws Exception {
+        try (Connection connection = migratedDatabase()) {
+            new DatasetGenerator(SPEC).generate(connection);
+
+            assertEquals(SPEC.items(), count(connection, "SELECT COUNT(*) FROM item_comment_stats"));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM item_comment_stats s WHERE s.comment_count <> "
+                    + "(SELECT COUNT(*) FROM comments c WHERE c.item_id = s.item_id)"));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM item_comment_stats s WHERE s.comment_count > 0 "
+                    + "AND s.recent_comment_ids NOT LIKE (SELECT CAST(c.id AS VARCHAR) || '%' FROM comments c "
+                    + "WHERE c.item_id = s.item_id ORDER BY c.created DESC, c.id DESC LIMIT 1)"));
+            assertEquals(0, count(connection, "SELECT COUNT(*) FROM comments c WHERE NOT EXISTS (SELECT 1 "
+                    + "FROM bookings b WHERE b.item_id = c.item_id AND b.booker_id = c.author_id "
+                    + "AND b.status = 'APPROVED' AND b.end_date < c.created)"));
+        }
+    }
+
+    private static Connection migratedDatabase() throws SQLException {
+        String url = "jdbc:h2:mem:dataset" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "shareit", "shareit")
+                .locations("classpath:db/migration/common")
+                .load()
+                .migrate();
+        return DriverManager.getConnection(url, "shareit", "shareit");
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String digest(Connection connection) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (String table : List.of("users", "requests", "items", "bookings", "comments", "item_comment_stats")) {
+            String order = table.equals("item_comment_stats") ? "item_id" : "id";
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT * FROM " + table + " ORDER BY " + order)) {
+                int columns = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    for (int column = 1; column <= columns; column++) {
+                        digest.update(String.valueOf(resultSet.getObject(column)).getBytes());
+                    }
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.dataset;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Size and shape of a generated dataset. The same spec and seed always produce the same rows.
+ *
+ * @param anchor        the "now" of the dataset: bookings run from {@code years} before it to a few weeks
+ *                      after it, so every booking state has rows
+ * @param powerOwners   users that own {@code powerOwnerShare} of all items between them
+ * @param zipfExponent  skew of item popularity: bookings of the item at rank k are proportional
+ *                      to {@code 1 / k^zipfExponent}
+ * @param answeredShare share of items created in answer to a request
+ * @param commentRate   share of finished approved bookings the booker comments on
+ */
+public record DatasetSpec(
+        long seed,
+        LocalDateTime anchor,
+        int users,
+        int powerOwners,
+        double powerOwnerShare,
+        int items,
+        double zipfExponent,
+        int requests,
+        double answeredShare,
+        int bookings,
+        int years,
+        double commentRate,
+        int batchSize) {
+
+    /**
+     * A few million rows: 200k users, 1M items, 300k requests, 5M bookings over five years and about
+     * 800k comments. 20 power owners hold 7500 items each.
+     */
+    public static final DatasetSpec DEFAULT = new DatasetSpec(42L, LocalDate.of(2025, 1, 1).atStartOfDay(),
+            200_000, 20, 0.15, 1_000_000, 1.0, 300_000, 0.1, 5_000_000, 5, 0.2, 1_000);
+
+    public static DatasetSpec fromSystemProperties() {
+        return fromSystemProperties(1);
+    }
+
+    /**
+     * The default spec with {@code dataset.*} system properties applied: {@code dataset.scale} multiplies
+     * the row counts, {@code dataset.seed} and {@code dataset.anchor} (ISO date-time) replace the defaults.
+     */
+    public static DatasetSpec fromSystemProperties(double defaultScale) {
+        String anchor = System.getProperty("dataset.anchor");
+        return DEFAULT.scaled(Double.parseDouble(System.getProperty("dataset.scale", String.valueOf(defaultScale))))
+                .withSeed(Long.getLong("dataset.seed", DEFAULT.seed()))
+                .withAnchor(anchor == null ? DEFAULT.anchor() : LocalDateTime.parse(anchor));
+    }
+
+    /**
+     * Multiplies row counts by {@code factor}, keeping the skew parameters, so a small dataset for tests
+     * has the same shape as a full-size one.
+     */
+    public DatasetSpec scaled(double factor) {
+        int scaledUsers = atLeastOne(users * factor);
+        return new DatasetSpec(seed, anchor, scaledUsers, Math.min(powerOwners, scaledUsers), powerOwnerShare,
+                atLeastOne(items * factor), zipfExponent, atLeastOne(requests * factor), answeredShare,
+                atLeastOne(bookings * factor), years, commentRate, batchSize);
+    }
+
+    public DatasetSpec withSeed(long seed) {
+        return new DatasetSpec(seed, anchor, users, powerOwners, powerOwnerShare, items, zipfExponent, requests,
+                answeredShare, bookings, years, commentRate, batchSize);
+    }
+
+    public DatasetSpec withAnchor(LocalDateTime anchor) {
+        return new DatasetSpec(seed, anchor, users, powerOwners, powerOwnerShare, items, zipfExponent, requests,
+                answeredShare, bookings, years, commentRate, batchSize);
+    }
+
+    private static int atLeastOne(double value) {
+        return Math.max(1, (int) Math.round(value));
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Russian names and item texts assembled from small vocabularies, with adjectives agreeing in gender
+ * with the noun, so that full-text search and stemming see realistic words.
+ */
+class RussianTexts {
+    private static final String[] FIRST_NAMES = {
+            "Александр", "Мария", "Дмитрий", "Анна", "Сергей", "Елена", "Андрей", "Ольга", "Алексей", "Наталья",
+            "Иван", "Татьяна", "Михаил", "Ирина", "Никита", "Екатерина", "Павел", "Светлана", "Артём", "Юлия"};
+    private static final String[] LAST_NAMES = {
+            "Иванов", "Смирнов", "Кузнецов", "Попов", "Васильев", "Петров", "Соколов", "Михайлов", "Новиков",
+            "Фёдоров", "Морозов", "Волков", "Алексеев", "Лебедев", "Семёнов", "Егоров", "Павлов", "Козлов"};
+
+    private static final Noun[] NOUNS = {
+            new Noun("Дрель", Gender.FEMININE), new Noun("Перфоратор", Gender.MASCULINE),
+            new Noun("Шуруповёрт", Gender.MASCULINE), new Noun("Лестница", Gender.FEMININE),
+            new Noun("Палатка", Gender.FEMININE), new Noun("Спальник", Gender.MASCULINE),
+            new Noun("Велосипед", Gender.MASCULINE), new Noun("Самокат", Gender.MASCULINE),
+            new Noun("Лыжи", Gender.PLURAL), new Noun("Сноуборд", Gender.MASCULINE),
+            new Noun("Коляска", Gender.FEMININE), new Noun("Автокресло", Gender.NEUTER),
+            new Noun("Проектор", Gender.MASCULINE), new Noun("Фотоаппарат", Gender.MASCULINE),
+            new Noun("Объектив", Gender.MASCULINE), new Noun("Штатив", Gender.MASCULINE),
+            new Noun("Пылесос", Gender.MASCULINE), new Noun("Мойка", Gender.FEMININE),
+            new Noun("Газонокосилка", Gender.FEMININE), new Noun("Бензопила", Gender.FEMININE),
+            new Noun("Удочка", Gender.FEMININE), new Noun("Лодка", Gender.FEMININE),
+            new Noun("Мангал", Gender.MASCULINE), new Noun("Кресло", Gender.NEUTER),
+            new Noun("Зеркало", Gender.NEUTER), new Noun("Колонки", Gender.PLURAL),
+            new Noun("Приставка", Gender.FEMININE), new Noun("Рюкзак", Gender.MASCULINE),
+            new Noun("Чемодан", Gender.MASCULINE), new Noun("Генератор", Gender.MASCULINE)};
+
+    private static final String[][] ADJECTIVES = {
+            new String[] {"новый", "новая", "новое", "новые"},
+            new String[] {"ударный", "ударная", "ударное", "ударные"},
+            new String[] {"лёгкий", "лёгкая", "лёгкое", "лёгкие"},
+            new String[] {"компактный", "компактная", "компактное", "компактные"},
+            new String[] {"профессиональный", "профессиональная", "профессиональное", "профессиональные"},
+            new String[] {"детский", "детская", "детское", "детские"},
+            new String[] {"складной", "складная", "складное", "складные"},
+            new String[] {"электрический", "электрическая", "электрическое", "электрические"},
+            new String[] {"туристический", "туристическая", "туристическое", "туристические"},
+            new String[] {"надёжный", "надёжная", "надёжное", "надёжные"}};
+
+    private static final String[] BRANDS = {
+            "Bosch", "Makita", "Интерскол", "Зубр", "Stels", "Forward", "Nordway", "Canon", "Nikon", "Karcher"};
+
+    private static final String[] DETAILS = {
+            "В хорошем состоянии.", "Почти не использовался.", "Есть небольшие царапины.",
+            "В комплекте чехол и инструкция.", "Забирать у метро.", "Отдам на выходные.",
+            "Аккумулятор держит долго.", "Подходит для дачи.", "Проверено, всё работает.",
+            "Прошу вернуть чистым.", "Можно взять на неделю.", "Есть запасные насадки."};
+
+    private static final String[] NEEDS = {"Нужен", "Нужна", "Нужно", "Нужны"};
+
+    private static final String[] PURPOSES = {
+            "для ремонта квартиры", "на выходные за город", "для поездки на море", "на пару дней",
+            "для переезда", "для съёмки мероприятия", "на дачу", "для похода в горы"};
+
+    private static final String[] COMMENTS = {
+            "Всё отлично, спасибо!", "Вещь в отличном состоянии, рекомендую.", "Владелец приятный, всё быстро.",
+            "Немного опоздал к встрече, но вещь хорошая.", "Работает как новая.",
+            "Пришлось повозиться с настройкой.", "Буду брать ещё.", "Соответствует описанию.",
+            "Аккумулятор садится быстро, но в целом нормально.", "Очень выручили, спасибо большое!"};
+
+    private RussianTexts() {
+    }
+
+    static String userName(SplittableRandom random) {
+        return pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random);
+    }
+
+    static String itemName(SplittableRandom random) {
+        Noun noun = pick(NOUNS, random);
+        return capitalize(pick(ADJECTIVES, random)[noun.gender().ordinal()]) + " " + noun.word().toLowerCase()
+                + " " + pick(BRANDS, random);
+    }
+
+    static String itemDescription(String name, SplittableRandom random) {
+        return name + ". " + pick(DETAILS, random) + " " + pick(DETAILS, random);
+    }
+
+    static String requestDescription(SplittableRandom random) {
+        Noun noun = pick(NOUNS, random);
+        return NEEDS[noun.gender().ordinal()] + " " + pick(ADJECTIVES, random)[noun.gender().ordinal()] + " "
+                + noun.word().toLowerCase() + " " + pick(PURPOSES, random);
+    }
+
+    static String comment(SplittableRandom random) {
+        return pick(COMMENTS, random);
+    }
+
+    private static <T> T pick(T[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private enum Gender {
+        MASCULINE, FEMININE, NEUTER, PLURAL
+    }
+
+    private record Noun(String word, Gender gender) {
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.exception.PreconditionFailedException;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class EntityTagsTests {
+
+    @InjectMocks
+    private UserController controller;
+
+    @Mock
+    private UserService service;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredWithNotModifiedTesting() throws Exception {
+        when(service.getUserById(1)).thenReturn(user("Owner", 0L));
+
+        String etag = mvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void changedResourceIsSentAgainTesting() throws Exception {
+        when(service.getUserById(1))
+                .thenReturn(user("Owner", 0L))
+                .thenReturn(user("Renamed", 1L));
+
+        String etag = mvc.perform(get("/users/1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Renamed")));
+    }
+
+    @Test
+    void listingsAreNotTaggedTesting() throws Exception {
+        when(service.getUsers()).thenReturn(List.of(user("Owner", 0L)));
+
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void ifMatchAcceptsCurrentTagWildcardAndListTesting() {
+        String current = EntityTags.of(user("Owner", 3L));
+
+        assertDoesNotThrow(() -> EntityTags.checkIfMatch(null, current));
+        assertDoesNotThrow(() -> EntityTags.checkIfMatch("*", current));
+        assertDoesNotThrow(() -> EntityTags.checkIfMatch("\"stale\", " + current, current));
+        assertThrows(PreconditionFailedException.class,
+                () -> EntityTags.checkIfMatch(EntityTags.of(user("Owner", 2L)), current));
+    }
+
+    private UserDto user(String name, Long version) {
+        return UserDto.builder()
+                .id(1)
+                .name(name)
+                .email("owner@etag.test")
+                .version(version)
+                .build();
+    }
+}
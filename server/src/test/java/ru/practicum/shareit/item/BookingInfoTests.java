@@ -15,6 +15,7 @@ import ru.practicum.shareit.item.dto.CommentOutputDto;
 import ru.practicum.shareit.item.dto.ItemOutputDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemDetailRow;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
@@ -23,7 +24,6 @@ import ru.practicum.shareit.user.User;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -63,7 +63,7 @@ class BookingInfoTests {
                 .email("other@example.com")
                 .build();
 
-        item = new Item(1, "Test Item", "Description", true, owner, null);
+        item = new Item(1, "Test Item", "Description", true, owner, null, null);
 
         itemOutputDto = ItemOutputDto.builder()
                 .id(item.getId())
@@ -75,15 +75,15 @@ class BookingInfoTests {
 
     @Test
     void throwNotFoundExceptionWhenItemDoesNotExist() {
-        when(itemRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(itemRepository.findItemDetail(anyInt(), anyInt(), any(), anyInt())).thenReturn(Collections.emptyList());
 
         assertThrows(NotFoundException.class, () -> itemService.addBookingInfoAndComments(1, 1));
     }
 
     @Test
     void returnItemWithoutBookingsAndCommentsForNonOwner() {
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemId(item.getId())).thenReturn(Collections.emptyList());
+        when(itemRepository.findItemDetail(eq(item.getId()), eq(otherUser.getId()), any(), anyInt()))
+                .thenReturn(List.of(row(null, null, null)));
 
         ItemOutputDto result = itemService.addBookingInfoAndComments(item.getId(), otherUser.getId());
 
@@ -94,16 +94,13 @@ class BookingInfoTests {
 
     @Test
     void returnItemWithLastAndNextBookingForOwnerTesting() {
-        Booking lastBooking = new Booking(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), item, owner, Status.APPROVED);
-        Booking nextBooking = new Booking(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item, owner, Status.APPROVED);
+        Booking lastBooking = new Booking(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), item, owner, Status.APPROVED, null);
+        Booking nextBooking = new Booking(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item, owner, Status.APPROVED, null);
         BookingShortDto lastBookingDto = new BookingShortDto(1, owner.getId(), lastBooking.getStart(), lastBooking.getEnd());
         BookingShortDto nextBookingDto = new BookingShortDto(2, owner.getId(), nextBooking.getStart(), nextBooking.getEnd());
 
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(eq(item.getId()), eq(Status.APPROVED), any()))
-                .thenReturn(Optional.of(lastBooking));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(eq(item.getId()), eq(Status.APPROVED), any()))
-                .thenReturn(Optional.of(nextBooking));
+        when(itemRepository.findItemDetail(eq(item.getId()), eq(owner.getId()), any(), anyInt()))
+                .thenReturn(List.of(row(lastBooking, nextBooking, null)));
 
         ItemOutputDto result = itemService.addBookingInfoAndComments(item.getId(), owner.getId());
 
@@ -113,14 +110,11 @@ class BookingInfoTests {
 
     @Test
     void returnItemWithOnlyLastBookingWhenNoNextBookingExistsTesting() {
-        Booking lastBooking = new Booking(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), item, owner, Status.APPROVED);
+        Booking lastBooking = new Booking(1, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), item, owner, Status.APPROVED, null);
         BookingShortDto lastBookingDto = new BookingShortDto(1, owner.getId(), lastBooking.getStart(), lastBooking.getEnd());
 
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(eq(item.getId()), eq(Status.APPROVED), any()))
-                .thenReturn(Optional.of(lastBooking));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(eq(item.getId()), eq(Status.APPROVED), any()))
-                .thenReturn(Optional.empty());
+        when(itemRepository.findItemDetail(eq(item.getId()), eq(owner.getId()), any(), anyInt()))
+                .thenReturn(List.of(row(lastBooking, null, null)));
 
         ItemOutputDto result = itemService.addBookingInfoAndComments(item.getId(), owner.getId());
 
@@ -130,14 +124,11 @@ class BookingInfoTests {
 
     @Test
     void returnItemWithOnlyNextBookingWhenNoLastBookingExistsTesting() {
-        Booking nextBooking = new Booking(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item, owner, Status.APPROVED);
+        Booking nextBooking = new Booking(2, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), item, owner, Status.APPROVED, null);
         BookingShortDto nextBookingDto = new BookingShortDto(2, owner.getId(), nextBooking.getStart(), nextBooking.getEnd());
 
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(eq(item.getId()), eq(Status.APPROVED), any()))
-                .thenReturn(Optional.empty());
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(eq(item.getId()), eq(Status.APPROVED), any()))
-                .thenReturn(Optional.of(nextBooking));
+        when(itemRepository.findItemDetail(eq(item.getId()), eq(owner.getId()), any(), anyInt()))
+                .thenReturn(List.of(row(null, nextBooking, null)));
 
         ItemOutputDto result = itemService.addBookingInfoAndComments(item.getId(), owner.getId());
 
@@ -150,12 +141,32 @@ class BookingInfoTests {
         Comment comment = new Comment(1, "Great item!", item, otherUser, LocalDateTime.now());
         CommentOutputDto commentOutputDto = new CommentOutputDto(1, "Great item!", "Other User", comment.getCreated());
 
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemId(item.getId())).thenReturn(List.of(comment));
+        when(itemRepository.findItemDetail(eq(item.getId()), eq(otherUser.getId()), any(), anyInt()))
+                .thenReturn(List.of(row(null, null, comment)));
 
         ItemOutputDto result = itemService.addBookingInfoAndComments(item.getId(), otherUser.getId());
 
         assertEquals(1, result.getComments().size());
         assertEquals(commentOutputDto, result.getComments().get(0));
     }
+
+    @Test
+    void duplicatedCommentRowsAreCollapsedTesting() {
+        Comment comment = new Comment(1, "Great item!", item, otherUser, LocalDateTime.now());
+
+        when(itemRepository.findItemDetail(eq(item.getId()), eq(otherUser.getId()), any(), anyInt()))
+                .thenReturn(List.of(row(null, null, comment), row(null, null, comment)));
+
+        ItemOutputDto result = itemService.addBookingInfoAndComments(item.getId(), otherUser.getId());
+
+        assertEquals(1, result.getComments().size());
+    }
+
+    private ItemDetailRow row(Booking lastBooking, Booking nextBooking, Comment comment) {
+        if (comment == null) {
+            return new ItemDetailRow(item, lastBooking, nextBooking, 0, null, null, null, null);
+        }
+        return new ItemDetailRow(item, lastBooking, nextBooking, 1, comment.getId(), comment.getText(),
+                comment.getAuthor().getName(), comment.getCreated());
+    }
 }
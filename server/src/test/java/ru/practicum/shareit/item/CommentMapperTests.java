@@ -28,7 +28,7 @@ class CommentMapperTests {
 
     @Test
     void toCommentOutputDtoTesting() {
-        User author = new User(1, "User1", "user1@example.com");
+        User author = new User(1, "User1", "user1@example.com", null);
         Comment comment = Comment.builder()
                 .id(1)
                 .text("Nice item!")
@@ -47,8 +47,8 @@ class CommentMapperTests {
 
     @Test
     void toCommentOutDtoListTesting() {
-        User author1 = new User(1, "User1", "user1@example.com");
-        User author2 = new User(2, "User2", "user2@example.com");
+        User author1 = new User(1, "User1", "user1@example.com", null);
+        User author2 = new User(2, "User2", "user2@example.com", null);
 
         Comment comment1 = Comment.builder()
                 .id(1)
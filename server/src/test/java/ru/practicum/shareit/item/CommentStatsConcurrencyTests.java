@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemCommentStatsRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class CommentStatsConcurrencyTests {
+
+    private static final int AUTHORS = 8;
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemCommentStatsRepository itemCommentStatsRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@stats.test").build());
+        users.add(owner);
+        item = itemRepository.save(Item.builder().name("Дрель").description("Описание").available(true)
+                .owner(owner).build());
+        LocalDateTime end = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < AUTHORS; i++) {
+            User author = userRepository.save(User.builder().name("Author" + i).email("author" + i + "@stats.test")
+                    .build());
+            users.add(author);
+            bookingRepository.save(Booking.builder().item(item).booker(author).start(end.minusDays(1)).end(end)
+                    .status(Status.APPROVED).build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void concurrentCommentsCreateMissingStatsOnceTesting() throws Exception {
+        assertTrue(itemCommentStatsRepository.findById(item.getId()).isEmpty());
+        ExecutorService executor = Executors.newFixedThreadPool(AUTHORS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (User author : users.subList(1, users.size())) {
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                return itemService.addComment(author.getId(), new CommentDto("Отзыв " + author.getId()),
+                        item.getId());
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        ItemCommentStats stats = itemCommentStatsRepository.findById(item.getId()).orElseThrow();
+        assertEquals(AUTHORS, stats.getCommentCount());
+        assertEquals(ItemCommentStats.PREVIEW_SIZE, stats.getRecentCommentIds().size());
+    }
+}
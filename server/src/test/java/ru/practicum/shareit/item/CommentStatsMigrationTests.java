@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommentStatsMigrationTests {
+    private static final String URL = "jdbc:h2:mem:comment-stats-migration;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void existingCommentsGetStatsWithRecentIdsTesting() throws Exception {
+        migrate("4");
+        try (Connection connection = DriverManager.getConnection(URL, "shareit", "shareit");
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, name, email) VALUES (1, 'Owner', 'owner@migration.test')");
+            statement.execute("INSERT INTO items (id, name, description, is_available, owner_id) "
+                    + "VALUES (1, 'Дрель', 'Описание', TRUE, 1), (2, 'Пила', 'Описание', TRUE, 1)");
+            for (int id = 1; id <= 7; id++) {
+                statement.execute("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (" + id
+                        + ", 'Отзыв', 1, 1, TIMESTAMP '2030-01-01 10:00:00' + INTERVAL '" + id + "' HOUR)");
+            }
+
+            migrate(null);
+
+            try (ResultSet stats = statement.executeQuery("SELECT item_id, comment_count, recent_comment_ids "
+                    + "FROM item_comment_stats ORDER BY item_id")) {
+                assertTrue(stats.next());
+                assertEquals(7, stats.getInt("comment_count"));
+                assertEquals("7,6,5,4,3", stats.getString("recent_comment_ids"));
+                assertTrue(stats.next());
+                assertEquals(0, stats.getInt("comment_count"));
+                assertNull(stats.getString("recent_comment_ids"));
+            }
+        }
+    }
+
+    private static void migrate(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(URL, "shareit", "shareit")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2");
+        if (target != null) {
+            configuration.target(target);
+        }
+        configuration.load().migrate();
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemConditionalEditTests {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("Owner").email("owner@conditional.test").build());
+        item = persist(Item.builder().name("Дрель").description("Дрель").available(true).owner(owner).build());
+        entityManager.flush();
+    }
+
+    @Test
+    void editWithTagOfGetSucceedsAndStaleTagFailsTesting() throws Exception {
+        String tag = etag();
+
+        mvc.perform(edit("Дрель ударная", tag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Дрель ударная"));
+
+        assertNotEquals(tag, etag());
+        mvc.perform(edit("Дрель аккумуляторная", tag))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void editWithTagOfGetAfterEditSucceedsTesting() throws Exception {
+        mvc.perform(edit("Дрель ударная", etag())).andExpect(status().isOk());
+
+        mvc.perform(edit("Дрель аккумуляторная", etag()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Дрель аккумуляторная"));
+    }
+
+    private String etag() throws Exception {
+        String tag = mvc.perform(get("/items/{itemId}", item.getId())
+                        .header(HeaderConstants.SHARER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        return tag;
+    }
+
+    private MockHttpServletRequestBuilder edit(String name, String ifMatch) {
+        return patch("/items/{itemId}", item.getId())
+                .header(HeaderConstants.SHARER_ID_HEADER, owner.getId())
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\"}");
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -10,19 +10,26 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentOutputDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemOutputDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -81,8 +88,8 @@ public class ItemControllerTests {
 
     @Test
     void getItemsOfUser() throws Exception {
-        when(itemService.getItemsOfUser(2))
-                .thenReturn(List.of(itemDto));
+        when(itemService.getItemsOfUser(2, 0, null))
+                .thenReturn(List.of(itemOutputDto));
 
         mvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 2)
@@ -134,7 +141,7 @@ public class ItemControllerTests {
 
     @Test
     void editItemTesting() throws Exception {
-        when(itemService.editItem(eq(2), eq(1), any(ItemDto.class)))
+        when(itemService.editItem(eq(2), eq(1), any(ItemDto.class), isNull()))
                 .thenReturn(itemDto);
 
         mvc.perform(patch("/items/1")
@@ -153,7 +160,7 @@ public class ItemControllerTests {
 
     @Test
     void searchItemsTesting() throws Exception {
-        when(itemService.search("Test"))
+        when(itemService.search("Test", 0, null))
                 .thenReturn(List.of(itemDto));
 
         mvc.perform(get("/items/search")
@@ -167,6 +174,44 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$[0].available").value(itemDto.getAvailable()));
     }
 
+    @Test
+    void searchStreamTesting() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(itemService).streamSearch(eq("Test"), any());
+
+        MvcResult result = mvc.perform(get("/items/search/stream")
+                        .param("text", "Test"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void searchAvailableItemsTesting() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 5, 1, 12, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 5, 3, 12, 0);
+        when(itemService.searchAvailable("Test", from, to, 20, 10))
+                .thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items/available")
+                        .param("text", "Test")
+                        .param("from", "2030-05-01T12:00:00")
+                        .param("to", "2030-05-03T12:00:00")
+                        .param("offset", "20")
+                        .param("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(itemDto.getId()))
+                .andExpect(jsonPath("$[0].name").value(itemDto.getName()));
+    }
+
     @Test
     void addCommentTesting() throws Exception {
         when(itemService.addComment(eq(2), any(CommentDto.class), eq(1)))
@@ -186,4 +231,17 @@ public class ItemControllerTests {
                 .andExpect(jsonPath("$.text").value(commentOutputDto.getText()))
                 .andExpect(jsonPath("$.authorName").value(commentOutputDto.getAuthorName()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCommentsReturnsNextCursorForFullPageTesting() throws Exception {
+        when(itemService.getComments(1, 1, null)).thenReturn(List.of(commentOutputDto));
+
+        mvc.perform(get("/items/1/comments")
+                        .param("limit", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HeaderConstants.NEXT_CURSOR_HEADER,
+                        new KeysetCursor(commentOutputDto.getCreated(), commentOutputDto.getId()).encode()))
+                .andExpect(jsonPath("$[0].authorName").value(commentOutputDto.getAuthorName()));
+    }
+}
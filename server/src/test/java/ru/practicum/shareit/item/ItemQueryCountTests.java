@@ -0,0 +1,183 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.CommentOutputDto;
+import ru.practicum.shareit.item.dto.ItemOutputDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+import ru.practicum.shareit.item.repository.ItemCommentStatsRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ItemQueryCountTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemCommentStatsRepository itemCommentStatsRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = persist(User.builder().name("Owner").email("owner@items.test").build());
+        booker = persist(User.builder().name("Booker").email("booker@items.test").build());
+        for (int i = 0; i < 5; i++) {
+            Item item = persist(Item.builder().name("Вещь " + i).description("Описание").available(true)
+                    .owner(owner).build());
+            items.add(item);
+            persist(booking(item, NOW.minusDays(3)));
+            persist(booking(item, NOW.minusDays(10)));
+            persist(booking(item, NOW.plusDays(2)));
+            List<Comment> comments = new ArrayList<>();
+            for (int c = 0; c < 3; c++) {
+                comments.add(persist(Comment.builder().text("Комментарий " + c).item(item).author(booker)
+                        .created(NOW.minusHours(c)).build()));
+            }
+            persist(ItemCommentStats.of(item.getId(), comments));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void itemDetailIsSingleStatementTesting() {
+        Item item = items.get(0);
+
+        ItemOutputDto result = itemService.addBookingInfoAndComments(item.getId(), owner.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertNotNull(result.getLastBooking());
+        assertNotNull(result.getNextBooking());
+        assertEquals(booker.getId(), result.getLastBooking().getBookerId());
+        assertTrue(result.getLastBooking().getStart().isAfter(NOW.minusDays(4)));
+        assertEquals(3, result.getComments().size());
+        assertEquals("Booker", result.getComments().get(0).getAuthorName());
+    }
+
+    @Test
+    void itemDetailHidesBookingsFromNonOwnerTesting() {
+        ItemOutputDto result = itemService.addBookingInfoAndComments(items.get(0).getId(), booker.getId());
+
+        assertNull(result.getLastBooking());
+        assertNull(result.getNextBooking());
+        assertEquals(3, result.getComments().size());
+    }
+
+    @Test
+    void ownerListingStatementCountDoesNotDependOnItemCountTesting() {
+        List<ItemOutputDto> result = itemService.getItemsOfUser(owner.getId(), 0, null);
+
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertEquals(5, result.size());
+        assertTrue(result.stream().allMatch(item -> item.getLastBooking() != null
+                && item.getNextBooking() != null
+                && item.getComments().size() == 3
+                && item.getCommentCount() == 3));
+        assertEquals("Комментарий 0", result.get(0).getComments().get(0).getText());
+    }
+
+    @Test
+    void itemDetailEmbedsOnlyFirstCommentPageTesting() {
+        Item item = items.get(0);
+        List<Comment> comments = new ArrayList<>();
+        for (int c = 0; c < Pagination.DEFAULT_PAGE_SIZE + 5; c++) {
+            comments.add(persist(Comment.builder().text("Отзыв " + c).item(item).author(booker)
+                    .created(NOW.minusDays(1).plusMinutes(c)).build()));
+        }
+        ItemCommentStats stats = entityManager.find(ItemCommentStats.class, item.getId());
+        comments.forEach(stats::register);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        ItemOutputDto result = itemService.addBookingInfoAndComments(item.getId(), owner.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(Pagination.DEFAULT_PAGE_SIZE, result.getComments().size());
+        assertEquals(Pagination.DEFAULT_PAGE_SIZE + 8, result.getCommentCount());
+        assertEquals("Комментарий 0", result.getComments().get(0).getText());
+        assertEquals("Комментарий 1", result.getComments().get(1).getText());
+        assertEquals("Комментарий 2", result.getComments().get(2).getText());
+        assertEquals("Отзыв " + (Pagination.DEFAULT_PAGE_SIZE + 4), result.getComments().get(3).getText());
+    }
+
+    @Test
+    void commentPagesAreSingleStatementNewestFirstTesting() {
+        List<String> texts = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            List<CommentOutputDto> page = itemService.getComments(items.get(0).getId(), 2, cursor);
+            assertEquals(1, statistics.getPrepareStatementCount());
+            page.forEach(comment -> texts.add(comment.getText()));
+            cursor = page.size() < 2 ? null
+                    : new KeysetCursor(page.get(1).getCreated(), page.get(1).getId()).encode();
+        } while (cursor != null);
+
+        assertEquals(List.of("Комментарий 0", "Комментарий 1", "Комментарий 2"), texts);
+    }
+
+    @Test
+    void commentsOfMissingItemAreNotFoundTesting() {
+        assertThrows(NotFoundException.class, () -> itemService.getComments(Integer.MAX_VALUE, null, null));
+    }
+
+    @Test
+    void newCommentStatsAreInsertedWithoutSelectTesting() {
+        Item item = persist(Item.builder().name("Новая вещь").description("Описание").available(true)
+                .owner(owner).build());
+        entityManager.flush();
+        statistics.clear();
+
+        ItemCommentStats stats = ItemCommentStats.empty(item.getId());
+        assertSame(stats, itemCommentStatsRepository.save(stats));
+        entityManager.flush();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(stats.isNew());
+    }
+
+    private Booking booking(Item item, LocalDateTime start) {
+        return Booking.builder().item(item).booker(booker).start(start).end(start.plusDays(1))
+                .status(Status.APPROVED).build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
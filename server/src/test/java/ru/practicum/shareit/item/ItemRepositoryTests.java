@@ -0,0 +1,198 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemJdbcRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Pagination;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+class ItemRepositoryTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 6, 1, 10, 0);
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemJdbcRepository itemJdbcRepository;
+
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item saw;
+
+    @BeforeEach
+    void setUp() {
+        owner = persist(User.builder().name("Owner").email("owner@repository.test").build());
+        booker = persist(User.builder().name("Booker").email("booker@repository.test").build());
+        drill = persist(item("Дрель", "Аккумуляторная дрель", true));
+        saw = persist(item("Пила", "Дисковая пила для дрели", true));
+        persist(item("Дрель сломанная", "Не работает", false));
+    }
+
+    @Test
+    void searchAvailableExcludesItemsWithOverlappingApprovedBookingTesting() {
+        persist(booking(drill, BASE, BASE.plusDays(2), Status.APPROVED));
+
+        List<Item> result = search("дрел", BASE.plusDays(1), BASE.plusDays(3));
+
+        assertEquals(List.of(saw.getId()), result.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void searchAvailableExcludesItemsWithOverlappingWaitingBookingTesting() {
+        persist(booking(drill, BASE, BASE.plusDays(2), Status.WAITING));
+
+        List<Item> result = search("дрел", BASE.plusDays(1), BASE.plusDays(3));
+
+        assertEquals(List.of(saw.getId()), result.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void searchAvailableIgnoresRejectedAndAdjacentBookingsTesting() {
+        persist(booking(drill, BASE, BASE.plusDays(2), Status.REJECTED));
+        persist(booking(drill, BASE.plusDays(1), BASE.plusDays(2), Status.CANCELED));
+        persist(booking(saw, BASE.minusDays(2), BASE, Status.APPROVED));
+
+        List<Item> result = search("дрел", BASE, BASE.plusDays(2));
+
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void searchAvailableWithBlankTextReturnsAllFreeItemsTesting() {
+        persist(booking(saw, BASE, BASE.plusDays(1), Status.APPROVED));
+
+        List<Item> result = search("", BASE, BASE.plusDays(1));
+
+        assertTrue(result.stream().anyMatch(item -> item.getId().equals(drill.getId())));
+        assertTrue(result.stream().noneMatch(item -> item.getId().equals(saw.getId())));
+        assertTrue(result.stream().allMatch(Item::getAvailable));
+    }
+
+    @Test
+    void searchAvailableReturnsRequestedPageTesting() {
+        List<Item> all = search("", BASE, BASE.plusDays(1));
+
+        List<Item> result = itemRepository.searchAvailable("", BASE, BASE.plusDays(1),
+                BookingIntervalIndex.BLOCKING_STATUSES, Pagination.boundedPage(1, 1, Sort.by("id")));
+
+        assertEquals(List.of(all.get(1).getId()), result.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void findLastAndNextApprovedPicksClosestBookingPerItemTesting() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking drillLast = persist(booking(drill, now.minusDays(3), now.minusDays(2), Status.APPROVED));
+        persist(booking(drill, now.minusDays(9), now.minusDays(8), Status.APPROVED));
+        persist(booking(drill, now.minusDays(1), now.plusDays(1), Status.REJECTED));
+        Booking drillNext = persist(booking(drill, now.plusDays(2), now.plusDays(3), Status.APPROVED));
+        persist(booking(drill, now.plusDays(5), now.plusDays(6), Status.APPROVED));
+        Booking sawNext = persist(booking(saw, now.plusDays(1), now.plusDays(2), Status.APPROVED));
+        entityManager.flush();
+
+        List<Booking> result = bookingRepository.findLastAndNextApprovedByItemIdIn(
+                List.of(drill.getId(), saw.getId()), now);
+
+        assertEquals(Set.of(drillLast.getId(), drillNext.getId(), sawNext.getId()),
+                result.stream().map(Booking::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void searchStartsAtOffsetNotAlignedToPageSizeTesting() {
+        List<Item> result = itemRepository.search("дрел", Pagination.boundedPage(1, 10, Sort.by("id")));
+
+        assertEquals(List.of(saw.getId()), result.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void itemsOfOwnerSkipFromWithoutSizeTesting() {
+        List<Item> result = itemRepository.findByOwnerId(owner.getId(), Pagination.offsetPage(1, null, Sort.by("id")));
+
+        assertEquals(2, result.size());
+        assertFalse(result.stream().anyMatch(item -> item.getId().equals(drill.getId())));
+    }
+
+    @Test
+    void searchIsPagedInIdOrderTesting() {
+        List<Item> first = itemRepository.search("дрел", PageRequest.of(0, 1, Sort.by("id")));
+        List<Item> second = itemRepository.search("дрел", PageRequest.of(1, 1, Sort.by("id")));
+
+        assertEquals(List.of(drill.getId()), first.stream().map(Item::getId).toList());
+        assertEquals(List.of(saw.getId()), second.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void streamSearchReadsAvailableMatchesThroughCursorTesting() {
+        entityManager.flush();
+
+        try (Stream<ItemDto> items = itemJdbcRepository.streamSearch("дрел")) {
+            assertEquals(List.of(drill.getId(), saw.getId()), items.map(ItemDto::getId).toList());
+        }
+    }
+
+    @Test
+    void findAllByIdInReadsDtosInIdOrderTesting() {
+        entityManager.flush();
+
+        List<ItemDto> items = itemJdbcRepository.findAllByIdIn(List.of(saw.getId(), drill.getId()));
+
+        assertEquals(List.of(drill.getId(), saw.getId()), items.stream().map(ItemDto::getId).toList());
+        assertEquals("Пила", items.get(1).getName());
+    }
+
+    private Item item(String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build();
+    }
+
+    private Booking booking(Item item, LocalDateTime start, LocalDateTime end, Status status) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+
+    private List<Item> search(String text, LocalDateTime from, LocalDateTime to) {
+        return itemRepository.searchAvailable(text, from, to, BookingIntervalIndex.BLOCKING_STATUSES,
+                Pagination.boundedPage(0, null, Sort.by("id")));
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -3,24 +3,37 @@ package ru.practicum.shareit.item;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentOutputDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemOutputDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentStats;
+import ru.practicum.shareit.item.model.ItemDetailRow;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemCommentStatsRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.pagination.Pagination;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -32,6 +45,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,6 +61,8 @@ class ItemServiceTests {
     @Mock private ItemMapper itemMapper;
     @Mock private UserMapper userMapper;
     @Mock private ItemRequestRepository itemRequestRepository;
+    @Mock private ItemSearchEngine itemSearchEngine;
+    @Mock private ItemCommentStatsRepository itemCommentStatsRepository;
 
     @InjectMocks private ItemServiceImpl itemService;
 
@@ -107,7 +123,7 @@ class ItemServiceTests {
                 .request(item.getRequest())
                 .build();
 
-        when(itemRepository.save(any(Item.class))).thenReturn(updatedItem);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(updatedItem);
         when(itemMapper.toItemDto(any())).thenReturn(ItemDto.builder()
                 .id(updatedItem.getId())
                 .name(updatedItem.getName())
@@ -128,11 +144,29 @@ class ItemServiceTests {
                 .requestId(itemDto.getRequestId())
                 .build();
 
-        ItemDto result = itemService.editItem(user.getId(), item.getId(), updatedItemDto);
+        ItemDto result = itemService.editItem(user.getId(), item.getId(), updatedItemDto, null);
 
         assertEquals("Updated Item", result.getName());
     }
 
+    @Test
+    void editItemChecksIfMatchAgainstItemRepresentationTesting() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(userService.getUserById(user.getId())).thenReturn(UserDto.builder().id(user.getId()).build());
+        when(itemRepository.findItemDetail(eq(item.getId()), eq(user.getId()), any(), anyInt()))
+                .thenReturn(List.of(new ItemDetailRow(item, null, null, 0, null, null, null, null)));
+        String current = EntityTags.of(itemService.addBookingInfoAndComments(item.getId(), user.getId()));
+
+        itemService.editItem(user.getId(), item.getId(), ItemDto.builder().name("Новое").build(), current);
+
+        verify(itemRepository).saveAndFlush(item);
+        when(itemRepository.findItemDetail(eq(item.getId()), eq(user.getId()), any(), anyInt()))
+                .thenReturn(List.of(new ItemDetailRow(item, null, null, 1, 7, "Отзыв", "Автор",
+                        LocalDateTime.now())));
+        assertThrows(PreconditionFailedException.class, () -> itemService.editItem(user.getId(), item.getId(),
+                ItemDto.builder().name("Другое").build(), current));
+    }
+
     @Test
     void editingItemNotByOwner() {
         User anotherUser = new User();
@@ -142,17 +176,64 @@ class ItemServiceTests {
         when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         when(userService.getUserById(user.getId())).thenReturn(UserDto.builder().id(user.getId()).build());
 
-        assertThrows(AccessDeniedException.class, () -> itemService.editItem(user.getId(), item.getId(), itemDto));
+        assertThrows(AccessDeniedException.class, () -> itemService.editItem(user.getId(), item.getId(), itemDto, null));
     }
 
     @Test
     void gettingItemsOfUserTesting() {
+        User booker = new User(2, "Booker", "booker@mail.ru", null);
+        Booking last = Booking.builder().id(1).item(item).booker(booker)
+                .start(LocalDateTime.now().minusDays(2)).end(LocalDateTime.now().minusDays(1)).build();
+        Booking next = Booking.builder().id(2).item(item).booker(booker)
+                .start(LocalDateTime.now().plusDays(1)).end(LocalDateTime.now().plusDays(2)).build();
+        Comment comment = Comment.builder().id(1).text("Отлично").item(item).author(booker)
+                .created(LocalDateTime.now()).build();
         when(userService.getUserById(user.getId())).thenReturn(UserDto.builder().id(user.getId()).build());
-        when(itemRepository.findByOwnerId(user.getId())).thenReturn(List.of(item));
-        when(itemMapper.toItemDto(any())).thenReturn(itemDto);
+        when(itemRepository.findByOwnerId(eq(user.getId()), any(Pageable.class))).thenReturn(List.of(item));
+        when(bookingRepository.findLastAndNextApprovedByItemIdIn(eq(List.of(item.getId())), any()))
+                .thenReturn(List.of(next, last));
+        ItemCommentStats stats = ItemCommentStats.empty(item.getId());
+        stats.setCommentCount(7);
+        stats.setRecentCommentIds(List.of(comment.getId()));
+        when(itemCommentStatsRepository.findAllByItemIdIn(List.of(item.getId()))).thenReturn(List.of(stats));
+        when(commentRepository.findAllWithAuthorByIdIn(Set.of(comment.getId()))).thenReturn(List.of(comment));
 
-        List<ItemDto> result = itemService.getItemsOfUser(user.getId());
-        assertFalse(result.isEmpty());
+        List<ItemOutputDto> result = itemService.getItemsOfUser(user.getId(), 0, null);
+
+        assertEquals(1, result.size());
+        assertEquals(last.getId(), result.get(0).getLastBooking().getId());
+        assertEquals(next.getId(), result.get(0).getNextBooking().getId());
+        assertEquals("Booker", result.get(0).getComments().get(0).getAuthorName());
+        assertEquals(7, result.get(0).getCommentCount());
+        verify(commentRepository, never()).findAllWithAuthorByItemIdIn(any());
+    }
+
+    @Test
+    void gettingItemsOfUserRebuildsMissingCommentStatsTesting() {
+        User author = new User(2, "Author", "author@mail.ru", null);
+        Comment older = Comment.builder().id(1).text("Первый").item(item).author(author)
+                .created(LocalDateTime.now().minusDays(1)).build();
+        Comment newer = Comment.builder().id(2).text("Второй").item(item).author(author)
+                .created(LocalDateTime.now()).build();
+        when(userService.getUserById(user.getId())).thenReturn(UserDto.builder().id(user.getId()).build());
+        when(itemRepository.findByOwnerId(eq(user.getId()), any(Pageable.class))).thenReturn(List.of(item));
+        when(commentRepository.findAllWithAuthorByItemIdIn(List.of(item.getId()))).thenReturn(List.of(newer, older));
+        when(commentRepository.findAllWithAuthorByIdIn(Set.of(1, 2))).thenReturn(List.of(newer, older));
+
+        List<ItemOutputDto> result = itemService.getItemsOfUser(user.getId(), 0, null);
+
+        assertEquals(2, result.get(0).getCommentCount());
+        assertEquals(List.of("Второй", "Первый"),
+                result.get(0).getComments().stream().map(CommentOutputDto::getText).toList());
+    }
+
+    @Test
+    void gettingItemsOfUserWithoutItemsSkipsBatchQueriesTesting() {
+        when(userService.getUserById(user.getId())).thenReturn(UserDto.builder().id(user.getId()).build());
+        when(itemRepository.findByOwnerId(eq(user.getId()), any(Pageable.class))).thenReturn(List.of());
+
+        assertTrue(itemService.getItemsOfUser(user.getId(), 0, 10).isEmpty());
+        verifyNoInteractions(bookingRepository, commentRepository);
     }
 
     @Test
@@ -195,11 +276,16 @@ class ItemServiceTests {
         Item item = new Item();
         item.setId(itemId);
         Booking booking = new Booking(1, LocalDateTime.now().minusDays(1), LocalDateTime.now().minusDays(2),
-                item, user, Status.APPROVED);
+                item, user, Status.APPROVED, null);
         Comment comment = new Comment();
+        comment.setId(5);
         comment.setItem(item);
         comment.setAuthor(user);
         comment.setText(commentDto.getText());
+        comment.setCreated(LocalDateTime.now());
+        ItemCommentStats stats = ItemCommentStats.empty(itemId);
+        stats.setCommentCount(2);
+        stats.setRecentCommentIds(List.of(4, 3));
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
@@ -207,16 +293,50 @@ class ItemServiceTests {
                 eq(itemId), eq(userId), eq(Status.APPROVED), any(LocalDateTime.class)))
                 .thenReturn(Optional.of(booking));
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+        when(itemCommentStatsRepository.findForUpdate(itemId)).thenReturn(Optional.of(stats));
         CommentOutputDto result = itemService.addComment(userId, commentDto, itemId);
         assertNotNull(result);
         assertEquals(commentDto.getText(), result.getText());
+        verify(itemCommentStatsRepository).save(stats);
+        assertEquals(3, stats.getCommentCount());
+        assertEquals(comment.getCreated(), stats.getLastCommentAt());
+        assertEquals(List.of(5, 4, 3), stats.getRecentCommentIds());
+    }
+
+    @Test
+    void addCommentRebuildsMissingStatsUnderItemLockTesting() {
+        Comment previous = new Comment(4, "Old", item, user, LocalDateTime.now().minusDays(1));
+        Comment comment = new Comment(5, "Great item!", item, user, LocalDateTime.now());
+        Booking booking = new Booking(1, LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(2),
+                item, user, Status.APPROVED, null);
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findFirstByItemIdAndBookerIdAndStatusAndEndBefore(
+                eq(item.getId()), eq(user.getId()), eq(Status.APPROVED), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(booking));
+        when(itemCommentStatsRepository.findForUpdate(item.getId())).thenReturn(Optional.empty());
+        when(commentRepository.findAllWithAuthorByItemIdIn(List.of(item.getId()))).thenReturn(List.of(previous));
+        when(itemCommentStatsRepository.saveAndFlush(any(ItemCommentStats.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+
+        itemService.addComment(user.getId(), new CommentDto("Great item!"), item.getId());
+
+        InOrder inOrder = inOrder(itemRepository, itemCommentStatsRepository);
+        inOrder.verify(itemRepository).findForUpdate(item.getId());
+        inOrder.verify(itemCommentStatsRepository).saveAndFlush(any(ItemCommentStats.class));
+        ArgumentCaptor<ItemCommentStats> saved = ArgumentCaptor.forClass(ItemCommentStats.class);
+        inOrder.verify(itemCommentStatsRepository).save(saved.capture());
+        assertEquals(2, saved.getValue().getCommentCount());
+        assertEquals(List.of(5, 4), saved.getValue().getRecentCommentIds());
     }
 
     @Test
     void editingByNotExistingUserTesting() {
         when(userService.getUserById(anyInt())).thenThrow(new NotFoundException("User not found"));
 
-        assertThrows(NotFoundException.class, () -> itemService.editItem(999, 1, itemDto));
+        assertThrows(NotFoundException.class, () -> itemService.editItem(999, 1, itemDto, null));
     }
 
     @Test
@@ -239,18 +359,54 @@ class ItemServiceTests {
 
     @Test
     void searchItemsWithQuery() {
-        when(itemRepository.search(anyString())).thenReturn(Collections.singletonList(item));
+        when(itemSearchEngine.search(anyString(), any(Pageable.class))).thenReturn(Collections.singletonList(item));
         when(itemMapper.toItemDto(any())).thenReturn(itemDto);
 
-        List<ItemDto> result = itemService.search("Test");
+        List<ItemDto> result = itemService.search("Test", 0, null);
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
     }
 
+    @Test
+    void searchAvailableItemsTesting() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(2);
+        when(itemRepository.searchAvailable("Test", from, to, BookingIntervalIndex.BLOCKING_STATUSES,
+                Pagination.boundedPage(0, Pagination.DEFAULT_PAGE_SIZE, Sort.by("id")))).thenReturn(List.of(item));
+        when(itemMapper.toItemDto(any())).thenReturn(itemDto);
+
+        List<ItemDto> result = itemService.searchAvailable(" Test ", from, to, 0, null);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void searchAvailableItemsCapsPageSizeTesting() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(2);
+
+        itemService.searchAvailable("Test", from, to, 40, 1000);
+
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(itemRepository).searchAvailable(eq("Test"), eq(from), eq(to),
+                eq(BookingIntervalIndex.BLOCKING_STATUSES), page.capture());
+        assertEquals(40, page.getValue().getOffset());
+        assertEquals(Pagination.MAX_PAGE_SIZE, page.getValue().getPageSize());
+    }
+
+    @Test
+    void searchAvailableItemsInvalidPeriodTesting() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ValidationException.class, () -> itemService.searchAvailable("Test", from, from, 0, null));
+        assertThrows(ValidationException.class,
+                () -> itemService.searchAvailable("Test", from, from.minusDays(1), 0, null));
+    }
+
     @Test
     void searchItemsBlankTextTesting() {
-        List<ItemDto> result = itemService.search("");
+        List<ItemDto> result = itemService.search("", 0, null);
 
         assertTrue(result.isEmpty());
     }
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJdbcRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchEngineTests {
+
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemJdbcRepository itemJdbcRepository;
+
+    @Test
+    void prefixQueryJoinsWordsWithAndTesting() {
+        assertEquals("дрел:* & makita:*", PostgresFullTextItemSearchEngine.toPrefixQuery("Дрел Makita"));
+    }
+
+    @Test
+    void prefixQueryDropsTsqueryOperatorsTesting() {
+        assertEquals("пила:* & 2000:*", PostgresFullTextItemSearchEngine.toPrefixQuery(" пила & | !(2000):* "));
+        assertEquals("", PostgresFullTextItemSearchEngine.toPrefixQuery(" &|! "));
+    }
+
+    @Test
+    void fullTextEngineSkipsQueryWithoutWordsTesting() {
+        PostgresFullTextItemSearchEngine engine = new PostgresFullTextItemSearchEngine(itemRepository, itemJdbcRepository);
+
+        assertTrue(engine.search("!!!", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(0, engine.stream("!!!").count());
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void fullTextEnginePassesPrefixQueryAndOffsetToRepositoryTesting() {
+        Item item = Item.builder().id(1).name("Дрель").build();
+        when(itemRepository.searchFullText("дрел:*", new OffsetPageable(5, 10, Sort.unsorted())))
+                .thenReturn(List.of(item));
+
+        assertEquals(List.of(item), new PostgresFullTextItemSearchEngine(itemRepository, itemJdbcRepository)
+                .search("дрел", new OffsetPageable(5, 10, Sort.by("id"))));
+    }
+
+    @Test
+    void likeEngineDelegatesToRepositoryTesting() {
+        new LikeItemSearchEngine(itemRepository, itemJdbcRepository).search("дрел", PageRequest.of(0, 10));
+
+        verify(itemRepository).search("дрел", PageRequest.of(0, 10));
+    }
+
+    @Test
+    void streamingUsesTheSameEngineAsSearchTesting() {
+        ItemDto item = ItemDto.builder().id(1).name("Дрель").build();
+        when(itemJdbcRepository.streamFullTextSearch("дрел:*")).thenReturn(Stream.of(item));
+        when(itemJdbcRepository.streamSearch("дрел")).thenReturn(Stream.of(item));
+
+        assertEquals(List.of(item), new PostgresFullTextItemSearchEngine(itemRepository, itemJdbcRepository)
+                .stream("дрел").toList());
+        assertEquals(List.of(item), new LikeItemSearchEngine(itemRepository, itemJdbcRepository)
+                .stream("дрел").toList());
+    }
+}
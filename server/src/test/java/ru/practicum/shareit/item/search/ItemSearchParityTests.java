@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJdbcRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageable;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The trigram index must find exactly what the LIKE query of {@link LikeItemSearchEngine} finds, including
+ * texts with LIKE wildcards and characters whose upper case changes the length of the text.
+ */
+@Transactional
+@SpringBootTest
+class ItemSearchParityTests {
+    private static final List<String> QUERIES = List.of("%", "_", "\\", "50%", "50", "a_b", "a%b", "ab", "%д",
+            "дрел", "ДРЕЛЬ", "ёлк", "елк", "ß", "ss", "STRASSE", "straße", "x", "пила 50", "");
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemJdbcRepository itemJdbcRepository;
+
+    private final List<Integer> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = User.builder().name("Owner").email("owner@parity.test").build();
+        entityManager.persist(owner);
+        item(owner, "Дрель", "Скидка 50% на аренду", true);
+        item(owner, "Пила 50", "Артикул a_b", true);
+        item(owner, "Ёлка", "Искусственная, 2 м", true);
+        item(owner, "Straße", "Путь \\ дорожный знак", true);
+        item(owner, "Набор ab", "Для a%b и axb", true);
+        item(owner, "ДРЕЛЬ ударная", "Не сдаётся", false);
+        entityManager.flush();
+    }
+
+    @Test
+    void ngramIndexFindsSameItemsAsLikeQueryTesting() {
+        NgramItemSearchEngine ngram = new NgramItemSearchEngine(itemRepository, itemJdbcRepository);
+        ngram.rebuild();
+        LikeItemSearchEngine like = new LikeItemSearchEngine(itemRepository, itemJdbcRepository);
+        Set<Integer> ours = Set.copyOf(ids);
+
+        for (String query : QUERIES) {
+            List<Integer> expected = query.isEmpty() ? List.of() : like.search(query,
+                            new OffsetPageable(0, Integer.MAX_VALUE, Sort.by("id"))).stream()
+                    .map(Item::getId)
+                    .filter(ours::contains)
+                    .toList();
+            List<Integer> actual = ngram.findIds(query).stream()
+                    .filter(ours::contains)
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, "Запрос: " + query);
+        }
+    }
+
+    @Test
+    void wildcardsMatchThemselvesTesting() {
+        LikeItemSearchEngine like = new LikeItemSearchEngine(itemRepository, itemJdbcRepository);
+
+        assertEquals(List.of(ids.get(0), ids.get(4)), likeIds(like, "%"));
+        assertEquals(List.of(ids.get(1)), likeIds(like, "a_b"));
+    }
+
+    private List<Integer> likeIds(LikeItemSearchEngine like, String query) {
+        return like.search(query, new OffsetPageable(0, 100, Sort.by("id"))).stream()
+                .map(Item::getId)
+                .filter(ids::contains)
+                .toList();
+    }
+
+    private void item(User owner, String name, String description, boolean available) {
+        Item item = Item.builder().name(name).description(description).available(available).owner(owner).build();
+        entityManager.persist(item);
+        ids.add(item.getId());
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemJdbcRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NgramItemSearchEngineTests {
+
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemJdbcRepository itemJdbcRepository;
+
+    private NgramItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new NgramItemSearchEngine(itemRepository, itemJdbcRepository);
+    }
+
+    @Test
+    void bulkLoadFindsSubstringsCaseInsensitivelyTesting() {
+        when(itemRepository.findAllSearchDocuments()).thenReturn(List.of(
+                new ItemSearchDocument(1, "Дрель", "Аккумуляторная дрель", true, 0L),
+                new ItemSearchDocument(2, "Пила", "Дисковая пила для ДРЕЛИ", true, 0L),
+                new ItemSearchDocument(3, "Отвёртка", "Крестовая", true, 0L)));
+
+        engine.afterSingletonsInstantiated();
+
+        assertEquals(List.of(1, 2), engine.findIds("дрел"));
+        assertEquals(List.of(2), engine.findIds("ПИЛА ДЛЯ"));
+        assertEquals(List.of(1, 2, 3), engine.findIds("а"));
+        assertTrue(engine.findIds("дрелька").isEmpty());
+        assertTrue(engine.findIds("").isEmpty());
+    }
+
+    @Test
+    void incrementalUpdatesHonorAvailabilityTesting() {
+        Item item = Item.builder().id(5).name("Лестница").description("Стремянка").available(true).build();
+        engine.indexItem(item);
+        assertEquals(List.of(5), engine.findIds("стремя"));
+
+        item.setAvailable(false);
+        engine.indexItem(item);
+        assertTrue(engine.findIds("стремя").isEmpty());
+        assertEquals(0, engine.size());
+
+        item.setAvailable(true);
+        item.setDescription("Складная");
+        engine.indexItem(item);
+        assertTrue(engine.findIds("стремя").isEmpty());
+        assertEquals(List.of(5), engine.findIds("склад"));
+
+        engine.removeItem(5);
+        assertTrue(engine.findIds("склад").isEmpty());
+    }
+
+    @Test
+    void olderVersionsAppliedLateAreIgnoredTesting() {
+        engine.indexItem(Item.builder().id(5).name("Лестница").description("").available(true).version(2L).build());
+        engine.indexItem(Item.builder().id(5).name("Стремянка").description("").available(true).version(1L).build());
+
+        assertEquals(List.of(5), engine.findIds("лестн"));
+        assertTrue(engine.findIds("стремя").isEmpty());
+
+        engine.indexItem(Item.builder().id(5).name("Лестница").description("").available(false).version(3L).build());
+        engine.indexItem(Item.builder().id(5).name("Лестница").description("").available(true).version(2L).build());
+        assertTrue(engine.findIds("лестн").isEmpty());
+
+        engine.removeItem(5);
+        engine.indexItem(Item.builder().id(5).name("Лестница").description("").available(true).version(4L).build());
+        assertTrue(engine.findIds("лестн").isEmpty());
+    }
+
+    @Test
+    void matchesLikeSemanticsOnRandomCatalogTesting() {
+        Random random = new Random(7);
+        String alphabet = "абвгдеёжзaб ";
+        List<ItemSearchDocument> catalog = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            catalog.add(new ItemSearchDocument(id, randomText(random, alphabet, 8),
+                    randomText(random, alphabet, 20), random.nextInt(4) != 0, 0L));
+        }
+        when(itemRepository.findAllSearchDocuments()).thenReturn(catalog);
+        engine.rebuild();
+
+        for (int i = 0; i < 300; i++) {
+            String query = randomText(random, alphabet, 1 + random.nextInt(4));
+            String needle = query.toUpperCase(Locale.ROOT);
+            List<Integer> expected = catalog.stream()
+                    .filter(ItemSearchDocument::isAvailable)
+                    .filter(document -> document.contains(needle))
+                    .map(ItemSearchDocument::getId)
+                    .toList();
+            assertEquals(expected, engine.findIds(query), "Запрос: " + query);
+        }
+    }
+
+    @Test
+    void searchLoadsItemsInIdOrderTesting() {
+        Item first = Item.builder().id(1).name("Дрель").description("").available(true).build();
+        Item second = Item.builder().id(2).name("Дрель ударная").description("").available(true).build();
+        engine.indexItem(second);
+        engine.indexItem(first);
+        when(itemRepository.findAllById(List.of(1, 2))).thenReturn(List.of(second, first));
+
+        assertEquals(List.of(first, second), engine.search("дрель", PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void searchReturnsRequestedPageTesting() {
+        for (int id = 1; id <= 5; id++) {
+            engine.indexItem(Item.builder().id(id).name("Дрель " + id).description("").available(true).build());
+        }
+        Item third = Item.builder().id(3).build();
+        Item fourth = Item.builder().id(4).build();
+        when(itemRepository.findAllById(List.of(3, 4))).thenReturn(List.of(third, fourth));
+
+        assertEquals(List.of(third, fourth), engine.search("дрель", PageRequest.of(1, 2)));
+        assertTrue(engine.search("дрель", PageRequest.of(5, 2)).isEmpty());
+    }
+
+    @Test
+    void streamLoadsMatchesInChunksInIdOrderTesting() {
+        int total = ItemJdbcRepository.FETCH_SIZE + 3;
+        for (int id = total; id >= 1; id--) {
+            engine.indexItem(Item.builder().id(id).name("Дрель " + id).description("").available(true).build());
+        }
+        List<Integer> firstChunk = IntStream.rangeClosed(1, ItemJdbcRepository.FETCH_SIZE).boxed().toList();
+        List<Integer> secondChunk = IntStream.rangeClosed(ItemJdbcRepository.FETCH_SIZE + 1, total).boxed().toList();
+        when(itemJdbcRepository.findAllByIdIn(firstChunk)).thenReturn(dtos(firstChunk));
+        when(itemJdbcRepository.findAllByIdIn(secondChunk)).thenReturn(dtos(secondChunk));
+
+        try (Stream<ItemDto> items = engine.stream("дрель")) {
+            assertEquals(IntStream.rangeClosed(1, total).boxed().toList(), items.map(ItemDto::getId).toList());
+        }
+        assertEquals(0, engine.stream("пила").count());
+    }
+
+    private static List<ItemDto> dtos(List<Integer> ids) {
+        return ids.stream()
+                .map(id -> ItemDto.builder().id(id).build())
+                .toList();
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.PostgresDatabase;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageable;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Transactional
+@ExtendWith(PostgresDatabase.class)
+@SpringBootTest(properties = "shareit.search.engine=postgres-fts")
+class PostgresFullTextSearchTests {
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ItemSearchEngine searchEngine;
+
+    private Item hammerDrill;
+    private Item perforator;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        PostgresDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        User owner = persist(User.builder().name("Owner").email("owner@fts.test").build());
+        hammerDrill = persist(item(owner, "Дрель ударная", "Сверлит кирпич", true));
+        perforator = persist(item(owner, "Перфоратор", "Работает как дрель и отбойный молоток", true));
+        persist(item(owner, "Дрель старая", "Не сдаётся", false));
+        persist(item(owner, "Пила дисковая", "Пилит доски", true));
+        entityManager.flush();
+    }
+
+    @Test
+    void migrationAddsGeneratedSearchVectorWithGinIndexTesting() {
+        assertInstanceOf(PostgresFullTextItemSearchEngine.class, searchEngine);
+        assertEquals("ALWAYS", jdbcTemplate.queryForObject("SELECT is_generated FROM information_schema.columns "
+                + "WHERE table_name = 'items' AND column_name = 'search_vector'", String.class));
+        String index = jdbcTemplate.queryForObject("SELECT indexdef FROM pg_indexes "
+                + "WHERE indexname = 'idx_items_search_vector'", String.class);
+        assertTrue(index.contains("USING gin (search_vector)"), index);
+    }
+
+    @Test
+    void findsWordFormsAndRanksNameMatchesFirstTesting() {
+        assertEquals(List.of(hammerDrill.getId(), perforator.getId()), ids("дрели"));
+        assertEquals(List.of(hammerDrill.getId(), perforator.getId()), ids("ДРЕЛЬ"));
+    }
+
+    @Test
+    void matchesWordPrefixesAndRequiresEveryWordTesting() {
+        assertEquals(List.of(perforator.getId()), ids("перфор"));
+        assertEquals(List.of(hammerDrill.getId()), ids("ударная дрель"));
+        assertEquals(List.of(), ids("ударная пила"));
+        assertEquals(List.of(), ids("&|!"));
+    }
+
+    @Test
+    void returnsRequestedPageAndStreamsInSameOrderTesting() {
+        List<Item> page = searchEngine.search("дрель", new OffsetPageable(1, 1, Sort.by("id")));
+
+        assertEquals(List.of(perforator.getId()), page.stream().map(Item::getId).toList());
+        try (Stream<ItemDto> items = searchEngine.stream("дрель")) {
+            assertEquals(ids("дрель"), items.map(ItemDto::getId).toList());
+        }
+    }
+
+    private List<Integer> ids(String text) {
+        return searchEngine.search(text, new OffsetPageable(0, 100, Sort.by("id"))).stream()
+                .map(Item::getId)
+                .toList();
+    }
+
+    private static Item item(User owner, String name, String description, boolean available) {
+        return Item.builder().name(name).description(description).available(available).owner(owner).build();
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
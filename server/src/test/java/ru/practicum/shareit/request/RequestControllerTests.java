@@ -105,7 +105,7 @@ class RequestControllerTests {
     @Test
     void getAllRequestsExceptOneUserTesting() throws Exception {
         List<ItemRequestOutputDto> requests = List.of(outputDto);
-        when(itemRequestService.getAllRequestsExceptOneUser(1)).thenReturn(requests);
+        when(itemRequestService.getAllRequestsExceptOneUser(1, null, null)).thenReturn(requests);
 
         mvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 1)
@@ -119,7 +119,7 @@ class RequestControllerTests {
                 .andExpect(jsonPath("$[0].items").isEmpty())
                 .andExpect(jsonPath("$[0].created").value("2025-03-10T10:10:10"));
 
-        verify(itemRequestService, times(1)).getAllRequestsExceptOneUser(1);
+        verify(itemRequestService, times(1)).getAllRequestsExceptOneUser(1, null, null);
     }
 
     @Test
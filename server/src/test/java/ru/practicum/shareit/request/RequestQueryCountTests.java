@@ -0,0 +1,104 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestOutputDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.service.UserDirectory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RequestQueryCountTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final int REQUESTS = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private UserDirectory userDirectory;
+
+    private Statistics statistics;
+    private User requester;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        requester = persist(User.builder().name("Requester").email("requester@requests.test").build());
+        other = persist(User.builder().name("Other").email("other@requests.test").build());
+        for (int i = 0; i < REQUESTS; i++) {
+            ItemRequest request = persist(ItemRequest.builder().description("Нужна вещь " + i)
+                    .requester(requester).created(NOW.minusHours(REQUESTS - i)).build());
+            for (int j = 0; j < i % 3; j++) {
+                persist(Item.builder().name("Вещь " + i + "-" + j).description("Описание").available(true)
+                        .owner(other).request(request).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        userDirectory.getUser(requester.getId());
+        userDirectory.getUser(other.getId());
+        statistics.clear();
+    }
+
+    @Test
+    void userRequestsLoadItemsInSingleStatementTesting() {
+        List<ItemRequestOutputDto> result = itemRequestService.getUserRequests(requester.getId());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertItemsBelongToTheirRequests(result);
+    }
+
+    @Test
+    void otherUsersRequestsLoadItemsInSingleStatementTesting() {
+        List<ItemRequestOutputDto> result = itemRequestService.getAllRequestsExceptOneUser(other.getId(), null, null);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        List<ItemRequestOutputDto> oldestFirst = new ArrayList<>(result);
+        Collections.reverse(oldestFirst);
+        assertItemsBelongToTheirRequests(oldestFirst);
+    }
+
+    private void assertItemsBelongToTheirRequests(List<ItemRequestOutputDto> result) {
+        List<ItemRequestOutputDto> own = result.stream()
+                .filter(request -> request.getDescription().startsWith("Нужна вещь"))
+                .toList();
+        assertEquals(REQUESTS, own.size());
+        for (int i = 0; i < REQUESTS; i++) {
+            ItemRequestOutputDto request = own.get(i);
+            assertEquals("Нужна вещь " + i, request.getDescription());
+            assertEquals(i % 3, request.getItems().size());
+            for (ItemDto item : request.getItems()) {
+                assertEquals(request.getId(), item.getRequestId());
+                assertTrue(item.getName().startsWith("Вещь " + i + "-"));
+            }
+        }
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
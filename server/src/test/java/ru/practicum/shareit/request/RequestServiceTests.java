@@ -10,6 +10,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.ShareItApp;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutputDto;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -153,13 +154,13 @@ public class RequestServiceTests {
         ItemRequestOutputDto requestTwo = itemRequestService.addRequest(newRequest2, user2.getId());
         ItemRequestOutputDto requestThree = itemRequestService.addRequest(newRequest3, user3.getId());
 
-        List<ItemRequestOutputDto> items = itemRequestService.getAllRequestsExceptOneUser(user3.getId());
+        List<ItemRequestOutputDto> items = itemRequestService.getAllRequestsExceptOneUser(user3.getId(), null, null);
 
         assertNotNull(items);
         assertEquals(2, items.size());
 
-        ItemRequestOutputDto request1 = items.get(0);
-        ItemRequestOutputDto request2 = items.get(1);
+        ItemRequestOutputDto request1 = items.get(1);
+        ItemRequestOutputDto request2 = items.get(0);
 
         assertEquals(requestOne.getDescription(), request1.getDescription());
         assertEquals(requestOne.getCreated(), request1.getCreated());
@@ -167,4 +168,24 @@ public class RequestServiceTests {
         assertEquals(requestTwo.getCreated(), request2.getCreated());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getAllRequestsExceptOneUserPagesNewestFirstTesting() {
+        for (int i = 0; i < 5; i++) {
+            itemRequestService.addRequest(ItemRequestDto.builder().description("Request " + i).build(), user1.getId());
+        }
+
+        List<ItemRequestOutputDto> first = itemRequestService.getAllRequestsExceptOneUser(user3.getId(), 2, null);
+        ItemRequestOutputDto last = first.get(first.size() - 1);
+        List<ItemRequestOutputDto> second = itemRequestService.getAllRequestsExceptOneUser(user3.getId(), 2,
+                new KeysetCursor(last.getCreated(), last.getId()).encode());
+        List<ItemRequestOutputDto> rest = itemRequestService.getAllRequestsExceptOneUser(user3.getId(), 10,
+                new KeysetCursor(second.get(1).getCreated(), second.get(1).getId()).encode());
+
+        assertEquals(List.of("Request 4", "Request 3"),
+                first.stream().map(ItemRequestOutputDto::getDescription).toList());
+        assertEquals(List.of("Request 2", "Request 1"),
+                second.stream().map(ItemRequestOutputDto::getDescription).toList());
+        assertEquals(List.of("Request 0"), rest.stream().map(ItemRequestOutputDto::getDescription).toList());
+    }
+
+}
@@ -16,6 +16,7 @@ import ru.practicum.shareit.user.service.UserService;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -84,7 +85,7 @@ class UserControllerTests {
 
     @Test
     void updateUserTesting() throws Exception {
-        when(service.updateUser(any(UserDto.class), eq(1))).thenReturn(userDto);
+        when(service.updateUser(any(UserDto.class), eq(1), isNull())).thenReturn(userDto);
 
         mvc.perform(patch("/users/1")
                         .content(objectMapper.writeValueAsString(updateUserDto))
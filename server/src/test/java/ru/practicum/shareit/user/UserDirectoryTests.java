@@ -0,0 +1,121 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserDirectory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTests {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+    private UserDirectory userDirectory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDirectory = new UserDirectory(userRepository, meterRegistry, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void repeatedLookupIsServedFromCacheTesting() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user(1)));
+
+        UserDto first = userDirectory.getUser(1);
+        UserDto second = userDirectory.getUser(1);
+
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findById(1);
+        assertEquals(1.0, meterRegistry.get("shareit.users.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("shareit.users.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void returnedUserCannotCorruptCacheTesting() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user(1)));
+
+        userDirectory.getUser(1).setName("Changed");
+
+        assertEquals("User1", userDirectory.getUser(1).getName());
+    }
+
+    @Test
+    void evictedUserIsReloadedTesting() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user(1)));
+        userDirectory.getUser(1);
+
+        userDirectory.evict(1);
+        userDirectory.getUser(1);
+
+        verify(userRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void leastRecentlyUsedUserIsDroppedWhenFullTesting() {
+        for (int id = 1; id <= 3; id++) {
+            when(userRepository.findById(id)).thenReturn(Optional.of(user(id)));
+        }
+        userDirectory.getUser(1);
+        userDirectory.getUser(2);
+        userDirectory.getUser(1);
+        userDirectory.getUser(3);
+
+        userDirectory.getUser(1);
+        userDirectory.getUser(2);
+
+        assertEquals(2, userDirectory.size());
+        verify(userRepository, times(1)).findById(1);
+        verify(userRepository, times(2)).findById(2);
+    }
+
+    @Test
+    void missingUserIsNotCachedTesting() {
+        when(userRepository.findById(5)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userDirectory.getUser(5));
+        assertThrows(NotFoundException.class, () -> userDirectory.getUser(5));
+
+        assertEquals(0, userDirectory.size());
+        verify(userRepository, times(2)).findById(5);
+    }
+
+    @Test
+    void requestResolvesUserOnceEvenWhenCacheIsFullTesting() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        userDirectory = new UserDirectory(userRepository, meterRegistry, 0);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user(1)));
+
+        userDirectory.getUser(1);
+        userDirectory.getUser(1);
+
+        verify(userRepository, times(1)).findById(1);
+    }
+
+    private static User user(int id) {
+        return User.builder().id(id).name("User" + id).email("user" + id + "@mail.ru").build();
+    }
+}
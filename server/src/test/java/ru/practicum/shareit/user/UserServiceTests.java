@@ -8,8 +8,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.EntityTags;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.PreconditionFailedException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -38,7 +40,7 @@ class UserServiceTests {
 
     @BeforeEach
     void setUp() {
-        user = new User(1, "John Doe", "john.doe@example.com");
+        user = new User(1, "John Doe", "john.doe@example.com", null);
         userDto = UserDto.builder().id(1).name("John Doe").email("john.doe@example.com").build();
     }
 
@@ -90,7 +92,7 @@ class UserServiceTests {
                 .email("updated.ivan@tupopochta.ru")
                 .build();
 
-        UserDto updatedUser = userService.updateUser(updateUserDto, createdUser.getId());
+        UserDto updatedUser = userService.updateUser(updateUserDto, createdUser.getId(), null);
 
         assertEquals("Updated Ivan", updatedUser.getName());
         assertEquals("updated.ivan@tupopochta.ru", updatedUser.getEmail());
@@ -110,7 +112,7 @@ class UserServiceTests {
                 .email(null)
                 .build();
 
-        UserDto updatedUser = userService.updateUser(updateUserDto, createdUser.getId());
+        UserDto updatedUser = userService.updateUser(updateUserDto, createdUser.getId(), null);
 
         assertEquals("New Ivan", updatedUser.getName());
         assertEquals("Ivan@tupopochta.ru", updatedUser.getEmail());
@@ -130,12 +132,27 @@ class UserServiceTests {
                 .email("new.ivan@tupopochta.ru")
                 .build();
 
-        UserDto updatedUser = userService.updateUser(updateUserDto, createdUser.getId());
+        UserDto updatedUser = userService.updateUser(updateUserDto, createdUser.getId(), null);
 
         assertEquals("Ivan", updatedUser.getName());
         assertEquals("new.ivan@tupopochta.ru", updatedUser.getEmail());
     }
 
+    @Test
+    void updateUserWithStaleIfMatchIsRejectedTesting() {
+        UserDto createdUser = userService.addUser(UserDto.builder()
+                .name("Ivan")
+                .email("Ivan@tupopochta.ru")
+                .build());
+        String firstTag = EntityTags.of(userService.getUserById(createdUser.getId()));
+
+        userService.updateUser(UserDto.builder().name("Ivan II").build(), createdUser.getId(), firstTag);
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(
+                UserDto.builder().name("Ivan III").build(), createdUser.getId(), firstTag));
+        assertEquals("Ivan II", userService.getUserById(createdUser.getId()).getName());
+    }
+
     @Test
     void updateNonExistentUserThrowsNotFoundExceptionTesting() {
         UserDto updateUserDto = UserDto.builder()
@@ -143,7 +160,7 @@ class UserServiceTests {
                 .email("ghost@tupopochta.ru")
                 .build();
 
-        NotFoundException exception = assertThrows(NotFoundException.class, () -> userService.updateUser(updateUserDto, 9999));
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> userService.updateUser(updateUserDto, 9999, null));
         assertEquals("Пользователь с id 9999 не найден.", exception.getMessage());
     }
 
@@ -210,7 +227,7 @@ class UserServiceTests {
                 .email("Ivan@tupopochta.ru")
                 .build();
 
-        UserDto updatedUser = userService.updateUser(updateUserDto, createdUser.getId());
+        UserDto updatedUser = userService.updateUser(updateUserDto, createdUser.getId(), null);
 
         assertEquals(createdUser.getName(), updatedUser.getName());
         assertEquals(createdUser.getEmail(), updatedUser.getEmail());